@@ -0,0 +1,103 @@
+package com.mishiranu.dashchan.benchmark;
+
+import chan.content.model.Post;
+import chan.content.model.Posts;
+import chan.text.JsonSerial;
+import chan.text.ParseException;
+import com.mishiranu.dashchan.chan.dobrochan.DobrochanChanLocator;
+import com.mishiranu.dashchan.chan.dobrochan.DobrochanModelMapper;
+import com.mishiranu.dashchan.chan.dobrochan.DobrochanThreadIdCache;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+// Top-level loops follow DobrochanChanPerformer.onReadThreads and onReadPosts
+@State(Scope.Benchmark)
+public class DobrochanModelMapperBenchmark {
+	private DobrochanChanLocator locator;
+	private DobrochanThreadIdCache threadIdCache;
+	private byte[] catalog;
+	private byte[] thread;
+
+	@Setup
+	public void setup() throws IOException {
+		locator = new DobrochanChanLocator();
+		threadIdCache = new DobrochanThreadIdCache();
+		catalog = Fixtures.read("dobrochan", "catalog.json");
+		thread = Fixtures.read("dobrochan", "thread.json");
+	}
+
+	@Benchmark
+	public List<Posts> catalog() throws IOException, ParseException {
+		ArrayList<Posts> threads = new ArrayList<>();
+		try (JsonSerial.Reader reader = JsonSerial.reader(catalog)) {
+			reader.startObject();
+			while (!reader.endStruct()) {
+				if ("boards".equals(reader.nextName())) {
+					reader.startObject();
+					while (!reader.endStruct()) {
+						if ("b".equals(reader.nextName())) {
+							reader.startObject();
+							while (!reader.endStruct()) {
+								if ("threads".equals(reader.nextName())) {
+									reader.startArray();
+									while (!reader.endStruct()) {
+										threads.add(DobrochanModelMapper.createThread(reader, locator, "b",
+												threadIdCache));
+									}
+								} else {
+									reader.skip();
+								}
+							}
+						} else {
+							reader.skip();
+						}
+					}
+				} else {
+					reader.skip();
+				}
+			}
+		}
+		return threads;
+	}
+
+	@Benchmark
+	public List<Post> thread() throws IOException, ParseException {
+		List<Post> posts = null;
+		try (JsonSerial.Reader reader = JsonSerial.reader(thread)) {
+			reader.startObject();
+			while (!reader.endStruct()) {
+				if ("threads".equals(reader.nextName())) {
+					reader.startArray();
+					reader.startObject();
+					while (!reader.endStruct()) {
+						switch (reader.nextName()) {
+							case "thread_id": {
+								threadIdCache.put("b", "5000000", reader.nextString());
+								break;
+							}
+							case "posts": {
+								posts = DobrochanModelMapper.createPosts(reader, locator, "5000000");
+								break;
+							}
+							default: {
+								reader.skip();
+								break;
+							}
+						}
+					}
+					while (!reader.endStruct()) {
+						reader.skip();
+					}
+				} else {
+					reader.skip();
+				}
+			}
+		}
+		return posts;
+	}
+}
@@ -0,0 +1,114 @@
+package com.mishiranu.dashchan.benchmark;
+
+import chan.content.model.Post;
+import chan.content.model.Posts;
+import chan.text.JsonSerial;
+import chan.text.ParseException;
+import com.mishiranu.dashchan.chan.dvach.DvachChanConfiguration;
+import com.mishiranu.dashchan.chan.dvach.DvachChanLocator;
+import com.mishiranu.dashchan.chan.dvach.DvachModelMapper;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+// Top-level loops follow DvachChanPerformer.onReadThreads and onReadPosts
+@State(Scope.Benchmark)
+public class DvachModelMapperBenchmark {
+	private DvachChanLocator locator;
+	private byte[] catalog;
+	private byte[] thread;
+
+	@Setup
+	public void setup() throws IOException {
+		locator = new DvachChanLocator();
+		locator.bind(new DvachChanConfiguration());
+		catalog = Fixtures.read("dvach", "catalog.json");
+		thread = Fixtures.read("dvach", "thread.json");
+	}
+
+	@Benchmark
+	public List<Posts> catalog() throws IOException, ParseException {
+		DvachModelMapper.BoardConfiguration boardConfiguration = new DvachModelMapper.BoardConfiguration();
+		ArrayList<Posts> threads = new ArrayList<>();
+		try (JsonSerial.Reader reader = JsonSerial.reader(catalog)) {
+			reader.startObject();
+			while (!reader.endStruct()) {
+				String name = reader.nextName();
+				if (!boardConfiguration.handle(reader, name)) {
+					switch (name) {
+						case "threads": {
+							reader.startArray();
+							while (!reader.endStruct()) {
+								threads.add(DvachModelMapper.createThread(reader, locator, "b", true));
+							}
+							break;
+						}
+						case "board": {
+							readBoard(reader, boardConfiguration);
+							break;
+						}
+						default: {
+							reader.skip();
+							break;
+						}
+					}
+				}
+			}
+		}
+		return threads;
+	}
+
+	@Benchmark
+	public List<Post> thread() throws IOException, ParseException {
+		DvachModelMapper.BoardConfiguration boardConfiguration = new DvachModelMapper.BoardConfiguration();
+		List<Post> posts = null;
+		try (JsonSerial.Reader reader = JsonSerial.reader(thread)) {
+			reader.startObject();
+			while (!reader.endStruct()) {
+				String name = reader.nextName();
+				if (!boardConfiguration.handle(reader, name)) {
+					switch (name) {
+						case "threads": {
+							reader.startArray();
+							reader.startObject();
+							while (!reader.endStruct()) {
+								if ("posts".equals(reader.nextName())) {
+									posts = DvachModelMapper.createPosts(reader, locator, "b", null, true, null);
+								} else {
+									reader.skip();
+								}
+							}
+							while (!reader.endStruct()) {
+								reader.skip();
+							}
+							break;
+						}
+						case "board": {
+							readBoard(reader, boardConfiguration);
+							break;
+						}
+						default: {
+							reader.skip();
+							break;
+						}
+					}
+				}
+			}
+		}
+		return posts;
+	}
+
+	private static void readBoard(JsonSerial.Reader reader,
+			DvachModelMapper.BoardConfiguration boardConfiguration) throws IOException, ParseException {
+		reader.startObject();
+		while (!reader.endStruct()) {
+			if (!boardConfiguration.handle(reader, reader.nextName())) {
+				reader.skip();
+			}
+		}
+	}
+}
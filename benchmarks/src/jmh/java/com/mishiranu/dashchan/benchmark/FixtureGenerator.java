@@ -0,0 +1,587 @@
+package com.mishiranu.dashchan.benchmark;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import java.io.File;
+import java.io.IOException;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Locale;
+import java.util.Random;
+import java.util.TimeZone;
+
+// Writes deterministic fixtures in the shape of each board API, run with "gradle generateFixtures".
+// Recorded responses can replace the generated files under the same names.
+public class FixtureGenerator {
+	private static final int CATALOG_THREADS = 150;
+	private static final int THREAD_POSTS = 300;
+	private static final long BASE_TIME = 1700000000L;
+
+	private static final String[] WORDS = {"lorem", "ipsum", "dolor", "sit", "amet", "consectetur", "adipiscing",
+			"elit", "sed", "do", "eiusmod", "tempor", "incididunt", "ut", "labore", "et", "dolore", "magna",
+			"aliqua", "анон", "тред", "пост", "годнота", "вопрос", "ответ", "&quot;quoted&quot;", "&amp;", "&gt;_&lt;",
+			"benchmark", "parser", "json", "mapper", "thread", "board", "image", "reply"};
+	private static final String[] EXTENSIONS = {".jpg", ".png", ".gif", ".webm", ".mp4", ".jpg", ".png"};
+	private static final String[] COUNTRIES = {"US", "DE", "RU", "FI", "GB", "FR", "JP", "BR", "PL", "CA"};
+
+	private final JsonFactory factory = new JsonFactory();
+	private final File directory;
+	private Random random;
+
+	private FixtureGenerator(File directory) {
+		this.directory = directory;
+	}
+
+	public static void main(String[] args) throws IOException {
+		FixtureGenerator generator = new FixtureGenerator(new File(args[0]));
+		generator.writeDvach();
+		generator.writeFourchan();
+		generator.writeVichan();
+		generator.writeMoechannel();
+		generator.writeDobrochan();
+		generator.writeSojakparty();
+	}
+
+	private JsonGenerator open(String chanName, String fileName) throws IOException {
+		// Each file has its own seed, so one generator change does not shift the others
+		random = new Random((chanName + "/" + fileName).hashCode());
+		File chanDirectory = new File(directory, chanName);
+		if (!chanDirectory.isDirectory() && !chanDirectory.mkdirs()) {
+			throw new IOException("Can't create " + chanDirectory);
+		}
+		return factory.createGenerator(new File(chanDirectory, fileName), JsonEncoding.UTF8);
+	}
+
+	private String words(int min, int max) {
+		int count = min + random.nextInt(max - min + 1);
+		StringBuilder builder = new StringBuilder();
+		for (int i = 0; i < count; i++) {
+			if (i > 0) {
+				builder.append(' ');
+			}
+			builder.append(WORDS[random.nextInt(WORDS.length)]);
+		}
+		return builder.toString();
+	}
+
+	private String url() {
+		return "https://example.com/" + words(1, 3).replaceAll("[^a-z]+", "/") + "?id=" + random.nextInt(100000);
+	}
+
+	private interface Markup {
+		String reply(long threadNumber, long postNumber, boolean originalPost);
+		String quote(String text);
+	}
+
+	// Comment with reply links, quotes, line breaks, entities and plain links, as in real threads
+	private String comment(long threadNumber, long firstPost, long postNumber, Markup markup) {
+		StringBuilder builder = new StringBuilder();
+		int lines = 1 + random.nextInt(6);
+		for (int i = 0; i < lines; i++) {
+			if (i > 0) {
+				builder.append("<br>");
+			}
+			int kind = random.nextInt(10);
+			if (kind < 2 && postNumber > firstPost) {
+				long target = firstPost + random.nextInt((int) (postNumber - firstPost));
+				builder.append(markup.reply(threadNumber, target, target == firstPost));
+			} else if (kind < 4) {
+				builder.append(markup.quote(words(2, 10)));
+			} else if (kind == 4) {
+				builder.append(words(1, 5)).append(' ').append(url());
+			} else {
+				builder.append(words(3, 25));
+			}
+		}
+		return builder.toString();
+	}
+
+	private void field(JsonGenerator generator, String name, String value) throws IOException {
+		generator.writeStringField(name, value);
+	}
+
+	private void field(JsonGenerator generator, String name, long value) throws IOException {
+		generator.writeNumberField(name, value);
+	}
+
+	// 2ch.hk: catalog.json and res/<thread>.json
+	private void writeDvach() throws IOException {
+		Markup markup = new Markup() {
+			@Override
+			public String reply(long threadNumber, long postNumber, boolean originalPost) {
+				return "<a href=\"&#47;b&#47;res&#47;" + threadNumber + ".html#" + postNumber
+						+ "\" class=\"post-reply-link\" data-thread=\"" + threadNumber + "\" data-num=\""
+						+ postNumber + "\">&gt;&gt;" + postNumber + (originalPost ? " (OP)" : "") + "</a>";
+			}
+
+			@Override
+			public String quote(String text) {
+				return random.nextInt(4) == 0 ? "<a class=\"hashlink\" title=\"#" + text.split(" ")[0]
+						+ "\" href=\"#\">#" + text.split(" ")[0] + "</a>"
+						: "<span class=\"unkfunc\">&gt;" + text + "</span>";
+			}
+		};
+		try (JsonGenerator generator = open("dvach", "catalog.json")) {
+			generator.writeStartObject();
+			writeDvachBoard(generator);
+			generator.writeArrayFieldStart("threads");
+			for (int i = 0; i < CATALOG_THREADS; i++) {
+				long number = 290000000L + i * 1000L;
+				generator.writeStartObject();
+				writeDvachPostFields(generator, number, number, number, markup, i < 2);
+				field(generator, "posts_count", random.nextInt(500));
+				field(generator, "files_count", random.nextInt(200));
+				generator.writeEndObject();
+			}
+			generator.writeEndArray();
+			field(generator, "board_speed", 120);
+			generator.writeEndObject();
+		}
+		try (JsonGenerator generator = open("dvach", "thread.json")) {
+			long threadNumber = 290000000L;
+			generator.writeStartObject();
+			writeDvachBoard(generator);
+			generator.writeArrayFieldStart("threads");
+			generator.writeStartObject();
+			generator.writeArrayFieldStart("posts");
+			for (int i = 0; i < THREAD_POSTS; i++) {
+				generator.writeStartObject();
+				writeDvachPostFields(generator, threadNumber, threadNumber, threadNumber + i, markup, false);
+				generator.writeEndObject();
+			}
+			generator.writeEndArray();
+			generator.writeEndObject();
+			generator.writeEndArray();
+			field(generator, "unique_posters", 87);
+			generator.writeEndObject();
+		}
+	}
+
+	private void writeDvachBoard(JsonGenerator generator) throws IOException {
+		generator.writeObjectFieldStart("board");
+		field(generator, "id", "b");
+		field(generator, "name", "Бред");
+		field(generator, "info_outer", "Бред");
+		field(generator, "default_name", "Аноним");
+		field(generator, "bump_limit", 500);
+		field(generator, "max_comment", 15000);
+		generator.writeBooleanField("enable_names", false);
+		generator.writeBooleanField("enable_trips", false);
+		generator.writeBooleanField("enable_subject", true);
+		generator.writeBooleanField("enable_sage", true);
+		generator.writeBooleanField("enable_flags", false);
+		generator.writeBooleanField("enable_likes", false);
+		generator.writeEndObject();
+	}
+
+	private void writeDvachPostFields(JsonGenerator generator, long threadNumber, long firstPost, long postNumber,
+			Markup markup, boolean sticky) throws IOException {
+		boolean originalPost = postNumber == firstPost;
+		field(generator, "num", postNumber);
+		field(generator, "parent", originalPost ? 0 : threadNumber);
+		field(generator, "board", "b");
+		field(generator, "timestamp", BASE_TIME + postNumber % 100000 * 30);
+		field(generator, "date", "14/11/23 Втр 22:13:20");
+		field(generator, "lasthit", BASE_TIME);
+		field(generator, "op", originalPost ? 1 : random.nextInt(8) == 0 ? 1 : 0);
+		field(generator, "sticky", sticky ? 1 : 0);
+		field(generator, "closed", 0);
+		field(generator, "endless", 0);
+		field(generator, "banned", random.nextInt(100) == 0 ? 1 : 0);
+		field(generator, "email", random.nextInt(5) == 0 ? "mailto:sage" : "");
+		if (random.nextInt(10) == 0) {
+			String identifier = random.nextInt(5) == 0 ? "Heaven" : Integer.toHexString(random.nextInt());
+			field(generator, "name", "Аноним&nbsp;ID:&nbsp;<span id=\"id_tag_" + identifier + "\">"
+					+ identifier + "</span>");
+		} else {
+			field(generator, "name", "Аноним");
+		}
+		field(generator, "trip", random.nextInt(30) == 0 ? "!!%mod%!!" : "");
+		field(generator, "subject", originalPost ? words(2, 8) : "");
+		field(generator, "comment", comment(threadNumber, firstPost, postNumber, markup));
+		if (random.nextInt(15) == 0) {
+			field(generator, "icon", "<img hspace=\"3\" src=\"/flags/" + COUNTRIES[random.nextInt(COUNTRIES.length)]
+					.toLowerCase(Locale.US) + ".png\" border=\"0\" />");
+		}
+		if (random.nextInt(20) == 0) {
+			field(generator, "tags", words(1, 1));
+		}
+		generator.writeArrayFieldStart("files");
+		int files = originalPost ? 1 : random.nextInt(3) == 0 ? 1 + random.nextInt(4) : 0;
+		for (int i = 0; i < files; i++) {
+			String name = Long.toString(BASE_TIME * 1000 + postNumber * 10 + i);
+			String extension = EXTENSIONS[random.nextInt(EXTENSIONS.length)];
+			generator.writeStartObject();
+			field(generator, "name", name + extension);
+			field(generator, "fullname", words(1, 3).replace(' ', '_') + extension);
+			field(generator, "displayname", words(1, 1) + extension);
+			field(generator, "path", "/b/src/" + threadNumber + "/" + name + extension);
+			field(generator, "thumbnail", "/b/thumb/" + threadNumber + "/" + name + "s.jpg");
+			field(generator, "md5", Long.toHexString(random.nextLong()) + Long.toHexString(random.nextLong()));
+			field(generator, "type", 1);
+			field(generator, "size", 100 + random.nextInt(8000));
+			field(generator, "width", 200 + random.nextInt(2000));
+			field(generator, "height", 200 + random.nextInt(2000));
+			field(generator, "tn_width", 220);
+			field(generator, "tn_height", 165);
+			generator.writeEndObject();
+		}
+		generator.writeEndArray();
+	}
+
+	private Markup createFutabaMarkup() {
+		return new Markup() {
+			@Override
+			public String reply(long threadNumber, long postNumber, boolean originalPost) {
+				return "<a href=\"#p" + postNumber + "\" class=\"quotelink\">&gt;&gt;" + postNumber + "</a>";
+			}
+
+			@Override
+			public String quote(String text) {
+				String quote = "<span class=\"quote\">&gt;" + text + "</span>";
+				// Long words are broken with <wbr> by the board
+				return random.nextInt(5) == 0 ? quote.replace(" ", "<wbr> ") : quote;
+			}
+		};
+	}
+
+	// 4chan, vichan and soyjak.party: catalog.json is a list of pages, res/<thread>.json is a posts object
+	private void writeFutabaPost(JsonGenerator generator, long threadNumber, long postNumber,
+			Markup markup, boolean catalog, int flavor) throws IOException {
+		boolean originalPost = threadNumber == postNumber;
+		field(generator, "no", postNumber);
+		field(generator, "resto", originalPost ? 0 : threadNumber);
+		field(generator, "time", BASE_TIME + (postNumber - threadNumber) * 40);
+		field(generator, "now", "11/14/23(Tue)22:13:20");
+		field(generator, "name", random.nextInt(20) == 0 ? "Named &amp; <b>bold</b>" : "Anonymous");
+		if (random.nextInt(25) == 0) {
+			field(generator, "trip", "!Ep8pui8Vw2");
+		}
+		if (flavor == 0 && random.nextInt(3) == 0) {
+			field(generator, "id", Integer.toHexString(random.nextInt()));
+		}
+		if (random.nextInt(60) == 0) {
+			field(generator, "capcode", "mod");
+		}
+		if (flavor != 0 && random.nextInt(6) == 0) {
+			field(generator, "email", "sage");
+		}
+		if (flavor == 0 || flavor == 2) {
+			if (random.nextInt(4) == 0) {
+				String country = COUNTRIES[random.nextInt(COUNTRIES.length)];
+				field(generator, "country", country);
+				field(generator, "country_name", country + " land");
+			}
+			if (flavor == 0 && random.nextInt(10) == 0) {
+				field(generator, "board_flag", "CM");
+				field(generator, "flag_name", "Commie");
+			}
+		}
+		if (originalPost) {
+			field(generator, "sub", words(2, 8));
+			field(generator, "sticky", postNumber % 97 == 0 ? 1 : 0);
+			field(generator, "closed", 0);
+		}
+		String comment = comment(threadNumber, threadNumber, postNumber, markup);
+		if (flavor == 0) {
+			if (random.nextInt(40) == 0) {
+				comment += "<br>[math]\\frac{a}{b} + x^2[/math]";
+			}
+			if (random.nextInt(30) == 0) {
+				comment += "<br><span class=\"abbr\">[EXIF data available. Click <a href=\"javascript:void(0)\">"
+						+ "here</a> to show/hide.]</span><br><table class=\"exif\"></table>";
+			}
+		} else if (flavor == 2 && random.nextInt(8) == 0) {
+			comment += "<br><span class=\"heading\">" + words(1, 3) + "</span>";
+		}
+		field(generator, "com", comment);
+		if (originalPost || random.nextInt(3) == 0) {
+			String extension = EXTENSIONS[random.nextInt(EXTENSIONS.length)];
+			field(generator, "filename", words(1, 3).replace(' ', '_'));
+			field(generator, "ext", extension);
+			field(generator, "w", 200 + random.nextInt(2000));
+			field(generator, "h", 200 + random.nextInt(2000));
+			field(generator, "tn_w", 250);
+			field(generator, "tn_h", 187);
+			field(generator, "tim", BASE_TIME * 1000 + postNumber % 100000);
+			field(generator, "md5", Long.toHexString(random.nextLong()) + "==");
+			field(generator, "fsize", 10000 + random.nextInt(4000000));
+			if (flavor != 0 && random.nextInt(4) == 0) {
+				generator.writeArrayFieldStart("extra_files");
+				for (int i = 0; i < 1 + random.nextInt(3); i++) {
+					generator.writeStartObject();
+					field(generator, "tim", (BASE_TIME * 1000 + postNumber % 100000) + "-" + (i + 1));
+					field(generator, "filename", words(1, 2).replace(' ', '_'));
+					field(generator, "ext", ".png");
+					field(generator, "w", 640);
+					field(generator, "h", 480);
+					field(generator, "fsize", 200000 + random.nextInt(100000));
+					generator.writeEndObject();
+				}
+				generator.writeEndArray();
+			}
+		}
+		if (flavor == 2 && random.nextInt(30) == 0) {
+			field(generator, "embed", "<iframe src=\"https://www.youtube.com/embed/dQw4w9WgXcQ\"></iframe>");
+		}
+		if (originalPost) {
+			field(generator, "replies", catalog ? random.nextInt(400) : THREAD_POSTS - 1);
+			field(generator, "images", catalog ? random.nextInt(150) : THREAD_POSTS / 3);
+			field(generator, "unique_ips", 40 + random.nextInt(60));
+			field(generator, "semantic_url", words(2, 4).replaceAll("[^a-z]+", "-"));
+		}
+	}
+
+	private void writeFutabaCatalog(String chanName, int flavor) throws IOException {
+		Markup markup = createFutabaMarkup();
+		try (JsonGenerator generator = open(chanName, "catalog.json")) {
+			generator.writeStartArray();
+			int pages = 10;
+			int perPage = CATALOG_THREADS / pages;
+			for (int page = 0; page < pages; page++) {
+				generator.writeStartObject();
+				field(generator, "page", page + 1);
+				generator.writeArrayFieldStart("threads");
+				for (int i = 0; i < perPage; i++) {
+					long threadNumber = 95000000L + (page * perPage + i) * 1000L;
+					generator.writeStartObject();
+					writeFutabaPost(generator, threadNumber, threadNumber, markup, true, flavor);
+					if (flavor == 0) {
+						generator.writeArrayFieldStart("last_replies");
+						for (int j = 0; j < 5; j++) {
+							generator.writeStartObject();
+							writeFutabaPost(generator, threadNumber, threadNumber + 100 + j,
+									markup, true, flavor);
+							generator.writeEndObject();
+						}
+						generator.writeEndArray();
+					}
+					generator.writeEndObject();
+				}
+				generator.writeEndArray();
+				generator.writeEndObject();
+			}
+			generator.writeEndArray();
+		}
+		try (JsonGenerator generator = open(chanName, "thread.json")) {
+			long threadNumber = 95000000L;
+			generator.writeStartObject();
+			generator.writeArrayFieldStart("posts");
+			for (int i = 0; i < THREAD_POSTS; i++) {
+				generator.writeStartObject();
+				writeFutabaPost(generator, threadNumber, threadNumber + i, markup, false, flavor);
+				generator.writeEndObject();
+			}
+			generator.writeEndArray();
+			generator.writeEndObject();
+		}
+	}
+
+	private void writeFourchan() throws IOException {
+		writeFutabaCatalog("fourchan", 0);
+	}
+
+	private void writeVichan() throws IOException {
+		writeFutabaCatalog("vichan", 1);
+	}
+
+	private void writeSojakparty() throws IOException {
+		writeFutabaCatalog("sojakparty", 2);
+	}
+
+	// 2channel.moe: same layout as the old makaba API
+	private void writeMoechannel() throws IOException {
+		Markup markup = new Markup() {
+			@Override
+			public String reply(long threadNumber, long postNumber, boolean originalPost) {
+				return "<a href=\"/b/res/" + threadNumber + ".html#" + postNumber + "\" class=\"post-reply-link\">"
+						+ "&gt;&gt;" + postNumber + (originalPost ? " (OP)" : "") + "</a>";
+			}
+
+			@Override
+			public String quote(String text) {
+				return "<span class=\"unkfunc\">&gt;" + text + "</span>";
+			}
+		};
+		try (JsonGenerator generator = open("moechannel", "catalog.json")) {
+			generator.writeStartObject();
+			writeMoechannelBoard(generator);
+			generator.writeArrayFieldStart("threads");
+			for (int i = 0; i < CATALOG_THREADS; i++) {
+				long number = 100000L + i * 500L;
+				generator.writeStartObject();
+				writeMoechannelPost(generator, number, number, markup);
+				field(generator, "posts_count", random.nextInt(500));
+				field(generator, "files_count", random.nextInt(200));
+				generator.writeEndObject();
+			}
+			generator.writeEndArray();
+			generator.writeEndObject();
+		}
+		try (JsonGenerator generator = open("moechannel", "thread.json")) {
+			long threadNumber = 100000L;
+			generator.writeStartObject();
+			writeMoechannelBoard(generator);
+			generator.writeArrayFieldStart("threads");
+			generator.writeStartObject();
+			generator.writeArrayFieldStart("posts");
+			for (int i = 0; i < THREAD_POSTS; i++) {
+				generator.writeStartObject();
+				writeMoechannelPost(generator, threadNumber, threadNumber + i, markup);
+				generator.writeEndObject();
+			}
+			generator.writeEndArray();
+			generator.writeEndObject();
+			generator.writeEndArray();
+			field(generator, "unique_posters", 41);
+			generator.writeEndObject();
+		}
+	}
+
+	private void writeMoechannelBoard(JsonGenerator generator) throws IOException {
+		field(generator, "board_name", "Бред");
+		field(generator, "board_subtitle", "");
+		field(generator, "default_name", "Аноним");
+		field(generator, "bump_limit", 500);
+		field(generator, "max_comment", 15000);
+		generator.writeBooleanField("enable_files", true);
+		generator.writeBooleanField("enable_names", true);
+		generator.writeBooleanField("enable_posting", true);
+		generator.writeBooleanField("enable_delete", true);
+	}
+
+	private void writeMoechannelPost(JsonGenerator generator, long threadNumber, long postNumber, Markup markup)
+			throws IOException {
+		boolean originalPost = threadNumber == postNumber;
+		field(generator, "num", postNumber);
+		field(generator, "parent", originalPost ? 0 : threadNumber);
+		field(generator, "timestamp", BASE_TIME + (postNumber - threadNumber) * 60);
+		field(generator, "op", originalPost ? 1 : 0);
+		field(generator, "sticky", 0);
+		field(generator, "closed", 0);
+		field(generator, "endless", 0);
+		field(generator, "subject", originalPost ? words(2, 6) : "");
+		field(generator, "comment", comment(threadNumber, threadNumber, postNumber, markup));
+		field(generator, "name", "Аноним");
+		field(generator, "trip", random.nextInt(40) == 0 ? "!!%adm%!!" : "");
+		field(generator, "email", random.nextInt(5) == 0 ? "sage" : "");
+		generator.writeArrayFieldStart("files");
+		int files = originalPost ? 1 : random.nextInt(3) == 0 ? 1 + random.nextInt(3) : 0;
+		for (int i = 0; i < files; i++) {
+			String name = Long.toString(BASE_TIME * 1000 + postNumber * 10 + i);
+			generator.writeStartObject();
+			field(generator, "path", "/b/src/" + name + ".jpg");
+			field(generator, "thumbnail", "/b/thumb/" + name + "s.jpg");
+			field(generator, "fullname", words(1, 2).replace(' ', '_') + ".jpg");
+			field(generator, "size", 100 + random.nextInt(4000));
+			field(generator, "width", 200 + random.nextInt(2000));
+			field(generator, "height", 200 + random.nextInt(2000));
+			generator.writeEndObject();
+		}
+		generator.writeEndArray();
+	}
+
+	// dobrochan.net: /b/<page>.json with threads inside boards, /api/thread/<id>/all.json
+	private void writeDobrochan() throws IOException {
+		SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss", Locale.US);
+		dateFormat.setTimeZone(TimeZone.getTimeZone("GMT"));
+		try (JsonGenerator generator = open("dobrochan", "catalog.json")) {
+			generator.writeStartObject();
+			generator.writeObjectFieldStart("boards");
+			generator.writeObjectFieldStart("b");
+			generator.writeArrayFieldStart("threads");
+			for (int i = 0; i < CATALOG_THREADS; i++) {
+				long threadNumber = 5000000L + i * 300L;
+				generator.writeStartObject();
+				field(generator, "display_id", threadNumber);
+				field(generator, "thread_id", 800000L + i);
+				field(generator, "posts_count", 1 + random.nextInt(500));
+				field(generator, "files_count", random.nextInt(200));
+				generator.writeArrayFieldStart("posts");
+				for (int j = 0; j < 6; j++) {
+					writeDobrochanPost(generator, threadNumber, j == 0 ? threadNumber : threadNumber + 100 + j,
+							dateFormat);
+				}
+				generator.writeEndArray();
+				generator.writeEndObject();
+			}
+			generator.writeEndArray();
+			generator.writeEndObject();
+			generator.writeEndObject();
+			generator.writeEndObject();
+		}
+		try (JsonGenerator generator = open("dobrochan", "thread.json")) {
+			long threadNumber = 5000000L;
+			generator.writeStartObject();
+			generator.writeArrayFieldStart("threads");
+			generator.writeStartObject();
+			field(generator, "display_id", threadNumber);
+			field(generator, "thread_id", 800000L);
+			generator.writeArrayFieldStart("posts");
+			for (int i = 0; i < THREAD_POSTS; i++) {
+				writeDobrochanPost(generator, threadNumber, threadNumber + i, dateFormat);
+			}
+			generator.writeEndArray();
+			generator.writeEndObject();
+			generator.writeEndArray();
+			generator.writeEndObject();
+		}
+	}
+
+	private void writeDobrochanPost(JsonGenerator generator, long threadNumber, long postNumber,
+			SimpleDateFormat dateFormat) throws IOException {
+		generator.writeStartObject();
+		field(generator, "display_id", postNumber);
+		field(generator, "post_id", postNumber * 3);
+		field(generator, "name", "Анонимус");
+		field(generator, "subject", threadNumber == postNumber ? words(2, 6) : "");
+		field(generator, "date", dateFormat.format(new Date((BASE_TIME + (postNumber - threadNumber) * 50)
+				* 1000L)));
+		// Raw markup is converted by the mapper when the server has no rendered HTML
+		StringBuilder message = new StringBuilder();
+		int lines = 1 + random.nextInt(5);
+		for (int i = 0; i < lines; i++) {
+			if (i > 0) {
+				message.append("\r\n");
+			}
+			int kind = random.nextInt(6);
+			if (kind == 0 && postNumber > threadNumber) {
+				message.append(">>").append(threadNumber + random.nextInt((int) (postNumber - threadNumber)));
+			} else if (kind == 1) {
+				message.append("> ").append(words(2, 8));
+			} else if (kind == 2) {
+				message.append(words(1, 4)).append(' ').append(url());
+			} else {
+				message.append(words(3, 20));
+			}
+		}
+		field(generator, "message", message.toString());
+		if (random.nextInt(4) == 0) {
+			field(generator, "message_html", "<p>" + message.toString().replace("\r\n", "<br />")
+					.replace(">", "&gt;") + "</p>");
+		}
+		generator.writeArrayFieldStart("files");
+		int files = threadNumber == postNumber ? 1 : random.nextInt(3) == 0 ? 1 + random.nextInt(2) : 0;
+		for (int i = 0; i < files; i++) {
+			String name = Long.toString(BASE_TIME + postNumber * 10 + i);
+			generator.writeStartObject();
+			field(generator, "src", "src/jpg/2311/" + name + ".jpg");
+			field(generator, "thumb", "thumb/jpg/2311/" + name + "s.jpg");
+			field(generator, "size", 10000 + random.nextInt(4000000));
+			field(generator, "type", "image");
+			generator.writeObjectFieldStart("metadata");
+			if (random.nextBoolean()) {
+				field(generator, "width", 200 + random.nextInt(2000));
+				field(generator, "height", 200 + random.nextInt(2000));
+			} else {
+				field(generator, "Image Width", 200 + random.nextInt(2000));
+				field(generator, "Image Height", 200 + random.nextInt(2000));
+			}
+			generator.writeEndObject();
+			generator.writeEndObject();
+		}
+		generator.writeEndArray();
+		generator.writeEndObject();
+	}
+}
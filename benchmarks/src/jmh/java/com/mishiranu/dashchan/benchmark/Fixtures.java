@@ -0,0 +1,23 @@
+package com.mishiranu.dashchan.benchmark;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+public class Fixtures {
+	public static byte[] read(String chanName, String fileName) throws IOException {
+		String path = "/fixtures/" + chanName + "/" + fileName;
+		try (InputStream input = Fixtures.class.getResourceAsStream(path)) {
+			if (input == null) {
+				throw new IOException("Missing fixture " + path);
+			}
+			ByteArrayOutputStream output = new ByteArrayOutputStream();
+			byte[] buffer = new byte[8192];
+			int count;
+			while ((count = input.read(buffer)) >= 0) {
+				output.write(buffer, 0, count);
+			}
+			return output.toByteArray();
+		}
+	}
+}
@@ -0,0 +1,58 @@
+package com.mishiranu.dashchan.benchmark;
+
+import chan.content.model.Posts;
+import chan.text.JsonSerial;
+import chan.text.ParseException;
+import com.mishiranu.dashchan.chan.fourchan.FourchanChanLocator;
+import com.mishiranu.dashchan.chan.fourchan.FourchanModelMapper;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+// Top-level loops follow FourchanChanPerformer.onReadThreads and onReadPosts
+@State(Scope.Benchmark)
+public class FourchanModelMapperBenchmark {
+	private FourchanChanLocator locator;
+	private byte[] catalog;
+	private byte[] thread;
+
+	@Setup
+	public void setup() throws IOException {
+		locator = new FourchanChanLocator();
+		catalog = Fixtures.read("fourchan", "catalog.json");
+		thread = Fixtures.read("fourchan", "thread.json");
+	}
+
+	@Benchmark
+	public List<Posts> catalog() throws IOException, ParseException {
+		ArrayList<Posts> threads = new ArrayList<>();
+		try (JsonSerial.Reader reader = JsonSerial.reader(catalog)) {
+			reader.startArray();
+			while (!reader.endStruct()) {
+				reader.startObject();
+				while (!reader.endStruct()) {
+					if ("threads".equals(reader.nextName())) {
+						reader.startArray();
+						while (!reader.endStruct()) {
+							threads.add(FourchanModelMapper.createThread(reader, locator, "sci", true, true));
+						}
+					} else {
+						reader.skip();
+					}
+				}
+			}
+		}
+		return threads;
+	}
+
+	@Benchmark
+	public Posts thread() throws IOException, ParseException {
+		try (JsonSerial.Reader reader = JsonSerial.reader(thread)) {
+			return FourchanModelMapper.createThread(reader, locator, "sci", true, false);
+		}
+	}
+}
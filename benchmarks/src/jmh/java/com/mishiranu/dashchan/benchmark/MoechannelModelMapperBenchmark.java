@@ -0,0 +1,84 @@
+package com.mishiranu.dashchan.benchmark;
+
+import chan.content.model.Post;
+import chan.content.model.Posts;
+import chan.text.JsonSerial;
+import chan.text.ParseException;
+import com.mishiranu.dashchan.chan.moechannel.MoechannelChanLocator;
+import com.mishiranu.dashchan.chan.moechannel.MoechannelModelMapper;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+// Top-level loops follow MoechannelChanPerformer.onReadThreads and onReadPosts
+@State(Scope.Benchmark)
+public class MoechannelModelMapperBenchmark {
+	private MoechannelChanLocator locator;
+	private byte[] catalog;
+	private byte[] thread;
+
+	@Setup
+	public void setup() throws IOException {
+		locator = new MoechannelChanLocator();
+		catalog = Fixtures.read("moechannel", "catalog.json");
+		thread = Fixtures.read("moechannel", "thread.json");
+	}
+
+	@Benchmark
+	public List<Posts> catalog() throws IOException, ParseException {
+		MoechannelModelMapper.BoardConfiguration boardConfiguration = new MoechannelModelMapper.BoardConfiguration();
+		ArrayList<Posts> threads = new ArrayList<>();
+		try (JsonSerial.Reader reader = JsonSerial.reader(catalog)) {
+			reader.startObject();
+			while (!reader.endStruct()) {
+				String name = reader.nextName();
+				if (!boardConfiguration.handle(reader, name)) {
+					if ("threads".equals(name)) {
+						reader.startArray();
+						while (!reader.endStruct()) {
+							threads.add(MoechannelModelMapper.createThread(reader, locator));
+						}
+					} else {
+						reader.skip();
+					}
+				}
+			}
+		}
+		return threads;
+	}
+
+	@Benchmark
+	public List<Post> thread() throws IOException, ParseException {
+		MoechannelModelMapper.BoardConfiguration boardConfiguration = new MoechannelModelMapper.BoardConfiguration();
+		List<Post> posts = null;
+		try (JsonSerial.Reader reader = JsonSerial.reader(thread)) {
+			reader.startObject();
+			while (!reader.endStruct()) {
+				String name = reader.nextName();
+				if (!boardConfiguration.handle(reader, name)) {
+					if ("threads".equals(name)) {
+						reader.startArray();
+						reader.startObject();
+						while (!reader.endStruct()) {
+							if ("posts".equals(reader.nextName())) {
+								posts = MoechannelModelMapper.createPosts(reader, locator, null);
+							} else {
+								reader.skip();
+							}
+						}
+						while (!reader.endStruct()) {
+							reader.skip();
+						}
+					} else {
+						reader.skip();
+					}
+				}
+			}
+		}
+		return posts;
+	}
+}
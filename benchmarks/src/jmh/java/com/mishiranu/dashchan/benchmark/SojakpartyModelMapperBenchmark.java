@@ -0,0 +1,58 @@
+package com.mishiranu.dashchan.benchmark;
+
+import chan.content.model.Posts;
+import chan.text.JsonSerial;
+import chan.text.ParseException;
+import com.mishiranu.dashchan.chan.sojakparty.SojakpartyChanLocator;
+import com.mishiranu.dashchan.chan.sojakparty.SojakpartyModelMapper;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+// Top-level loops follow SojakpartyChanPerformer.onReadThreads and onReadPosts
+@State(Scope.Benchmark)
+public class SojakpartyModelMapperBenchmark {
+	private SojakpartyChanLocator locator;
+	private byte[] catalog;
+	private byte[] thread;
+
+	@Setup
+	public void setup() throws IOException {
+		locator = new SojakpartyChanLocator();
+		catalog = Fixtures.read("sojakparty", "catalog.json");
+		thread = Fixtures.read("sojakparty", "thread.json");
+	}
+
+	@Benchmark
+	public List<Posts> catalog() throws IOException, ParseException {
+		ArrayList<Posts> threads = new ArrayList<>();
+		try (JsonSerial.Reader reader = JsonSerial.reader(catalog)) {
+			reader.startArray();
+			while (!reader.endStruct()) {
+				reader.startObject();
+				while (!reader.endStruct()) {
+					if ("threads".equals(reader.nextName())) {
+						reader.startArray();
+						while (!reader.endStruct()) {
+							threads.add(SojakpartyModelMapper.createThread(reader, locator, "soy", true));
+						}
+					} else {
+						reader.skip();
+					}
+				}
+			}
+		}
+		return threads;
+	}
+
+	@Benchmark
+	public Posts thread() throws IOException, ParseException {
+		try (JsonSerial.Reader reader = JsonSerial.reader(thread)) {
+			return SojakpartyModelMapper.createThread(reader, locator, "soy", false);
+		}
+	}
+}
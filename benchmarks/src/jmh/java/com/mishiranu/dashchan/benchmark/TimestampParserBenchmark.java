@@ -0,0 +1,64 @@
+package com.mishiranu.dashchan.benchmark;
+
+import chan.content.TimestampParser;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Locale;
+import java.util.Random;
+import java.util.TimeZone;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+// SimpleDateFormat is benchmarked the way it was used before, one shared instance behind a lock
+@State(Scope.Benchmark)
+public class TimestampParserBenchmark {
+	private static final int COUNT = 1000;
+
+	@Param({"yyyy-MM-dd'T'HH:mm:ssZZZZZ", "yyyy-MM-dd HH:mm:ss", "yy/MM/dd(EEE)HH:mm"})
+	public String pattern;
+
+	private TimestampParser parser;
+	private SimpleDateFormat dateFormat;
+	private String[] texts;
+
+	@Setup
+	public void setup() {
+		parser = TimestampParser.get(pattern, "GMT+3");
+		dateFormat = new SimpleDateFormat(pattern, Locale.US);
+		dateFormat.setTimeZone(TimeZone.getTimeZone("GMT+3"));
+		Random random = new Random(0);
+		long start = 1262304000000L; // 2010-01-01
+		long end = 1767225600000L; // 2026-01-01
+		texts = new String[COUNT];
+		for (int i = 0; i < COUNT; i++) {
+			texts[i] = dateFormat.format(new Date(start + (long) (random.nextDouble() * (end - start))));
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(COUNT)
+	public long timestampParser() throws ParseException {
+		long sum = 0;
+		for (String text : texts) {
+			sum += parser.parse(text);
+		}
+		return sum;
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(COUNT)
+	public long simpleDateFormat() throws ParseException {
+		long sum = 0;
+		for (String text : texts) {
+			synchronized (dateFormat) {
+				sum += dateFormat.parse(text).getTime();
+			}
+		}
+		return sum;
+	}
+}
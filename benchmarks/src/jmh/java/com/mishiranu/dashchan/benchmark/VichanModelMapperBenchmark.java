@@ -0,0 +1,58 @@
+package com.mishiranu.dashchan.benchmark;
+
+import chan.content.VichanChanLocator;
+import chan.content.VichanModelMapper;
+import chan.content.model.Posts;
+import chan.text.JsonSerial;
+import chan.text.ParseException;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+// Top-level loops follow VichanChanPerformer.onReadThreads and onReadPosts
+@State(Scope.Benchmark)
+public class VichanModelMapperBenchmark {
+	private VichanChanLocator locator;
+	private byte[] catalog;
+	private byte[] thread;
+
+	@Setup
+	public void setup() throws IOException {
+		locator = new VichanChanLocator();
+		catalog = Fixtures.read("vichan", "catalog.json");
+		thread = Fixtures.read("vichan", "thread.json");
+	}
+
+	@Benchmark
+	public List<Posts> catalog() throws IOException, ParseException {
+		ArrayList<Posts> threads = new ArrayList<>();
+		try (JsonSerial.Reader reader = JsonSerial.reader(catalog)) {
+			reader.startArray();
+			while (!reader.endStruct()) {
+				reader.startObject();
+				while (!reader.endStruct()) {
+					if ("threads".equals(reader.nextName())) {
+						reader.startArray();
+						while (!reader.endStruct()) {
+							threads.add(VichanModelMapper.createThread(reader, locator, "b", true));
+						}
+					} else {
+						reader.skip();
+					}
+				}
+			}
+		}
+		return threads;
+	}
+
+	@Benchmark
+	public Posts thread() throws IOException, ParseException {
+		try (JsonSerial.Reader reader = JsonSerial.reader(thread)) {
+			return VichanModelMapper.createThread(reader, locator, "b", false);
+		}
+	}
+}
@@ -0,0 +1,187 @@
+package android.net;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+// Minimal immutable stand-in, only the parts used by the mappers and locators
+public final class Uri {
+	private final String scheme;
+	private final String authority;
+	private final String path;
+	private final String query;
+	private final String fragment;
+	private String string;
+
+	private Uri(String scheme, String authority, String path, String query, String fragment) {
+		this.scheme = scheme;
+		this.authority = authority;
+		this.path = path;
+		this.query = query;
+		this.fragment = fragment;
+	}
+
+	public static Uri parse(String uriString) {
+		try {
+			URI uri = new URI(uriString);
+			return new Uri(uri.getScheme(), uri.getRawAuthority(), uri.getRawPath(),
+					uri.getRawQuery(), uri.getRawFragment());
+		} catch (URISyntaxException e) {
+			return new Uri(null, null, uriString, null, null);
+		}
+	}
+
+	public String getScheme() {
+		return scheme;
+	}
+
+	public String getAuthority() {
+		return authority;
+	}
+
+	public String getHost() {
+		return authority;
+	}
+
+	public String getPath() {
+		return path;
+	}
+
+	public String getQuery() {
+		return query;
+	}
+
+	public String getFragment() {
+		return fragment;
+	}
+
+	public boolean isRelative() {
+		return scheme == null;
+	}
+
+	public List<String> getPathSegments() {
+		if (path == null || path.isEmpty()) {
+			return Collections.emptyList();
+		}
+		ArrayList<String> segments = new ArrayList<>(Arrays.asList(path.split("/")));
+		segments.removeIf(String::isEmpty);
+		return segments;
+	}
+
+	public String getLastPathSegment() {
+		List<String> segments = getPathSegments();
+		return segments.isEmpty() ? null : segments.get(segments.size() - 1);
+	}
+
+	public Builder buildUpon() {
+		return new Builder().scheme(scheme).encodedAuthority(authority).encodedPath(path)
+				.encodedQuery(query).encodedFragment(fragment);
+	}
+
+	@Override
+	public String toString() {
+		if (string == null) {
+			StringBuilder builder = new StringBuilder();
+			if (scheme != null) {
+				builder.append(scheme).append(':');
+			}
+			if (authority != null) {
+				builder.append("//").append(authority);
+			}
+			if (path != null) {
+				builder.append(path);
+			}
+			if (query != null) {
+				builder.append('?').append(query);
+			}
+			if (fragment != null) {
+				builder.append('#').append(fragment);
+			}
+			string = builder.toString();
+		}
+		return string;
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		return o instanceof Uri && toString().equals(o.toString());
+	}
+
+	@Override
+	public int hashCode() {
+		return toString().hashCode();
+	}
+
+	public static final class Builder {
+		private String scheme;
+		private String authority;
+		private final StringBuilder path = new StringBuilder();
+		private String query;
+		private String fragment;
+
+		public Builder scheme(String scheme) {
+			this.scheme = scheme;
+			return this;
+		}
+
+		public Builder authority(String authority) {
+			this.authority = authority;
+			return this;
+		}
+
+		public Builder encodedAuthority(String authority) {
+			return authority(authority);
+		}
+
+		public Builder path(String path) {
+			this.path.setLength(0);
+			if (path != null) {
+				this.path.append(path);
+			}
+			return this;
+		}
+
+		public Builder encodedPath(String path) {
+			return path(path);
+		}
+
+		public Builder appendPath(String segment) {
+			return appendEncodedPath(segment);
+		}
+
+		public Builder appendEncodedPath(String segment) {
+			if (path.length() == 0 || path.charAt(path.length() - 1) != '/') {
+				path.append('/');
+			}
+			path.append(segment.startsWith("/") ? segment.substring(1) : segment);
+			return this;
+		}
+
+		public Builder encodedQuery(String query) {
+			this.query = query;
+			return this;
+		}
+
+		public Builder appendQueryParameter(String key, String value) {
+			String parameter = key + "=" + value;
+			query = query == null ? parameter : query + "&" + parameter;
+			return this;
+		}
+
+		public Builder fragment(String fragment) {
+			this.fragment = fragment;
+			return this;
+		}
+
+		public Builder encodedFragment(String fragment) {
+			return fragment(fragment);
+		}
+
+		public Uri build() {
+			return new Uri(scheme, authority, path.length() > 0 ? path.toString() : null, query, fragment);
+		}
+	}
+}
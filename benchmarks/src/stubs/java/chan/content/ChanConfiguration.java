@@ -0,0 +1,30 @@
+package chan.content;
+
+import android.net.Uri;
+
+// Stand-in: only the lookup and resource access used by the mappers
+public class ChanConfiguration {
+	private ChanLocator locator;
+
+	@SuppressWarnings("unchecked")
+	public static <T extends ChanConfiguration> T get(Object object) {
+		if (object instanceof ChanConfiguration) {
+			return (T) object;
+		} else if (object instanceof ChanLocator) {
+			return (T) ((ChanLocator) object).getConfiguration();
+		}
+		throw new IllegalArgumentException("Not linked: " + object);
+	}
+
+	void setLocator(ChanLocator locator) {
+		this.locator = locator;
+	}
+
+	ChanLocator getLocator() {
+		return locator;
+	}
+
+	public Uri getResourceUri(int resId) {
+		return Uri.parse("android.resource://chan/" + resId);
+	}
+}
@@ -0,0 +1,69 @@
+package chan.content;
+
+import android.net.Uri;
+
+// Stand-in: host handling and the path builders the mappers call
+public class ChanLocator {
+	private String defaultHost;
+	private ChanConfiguration configuration;
+
+	@SuppressWarnings("unchecked")
+	public static <T extends ChanLocator> T get(Object object) {
+		if (object instanceof ChanLocator) {
+			return (T) object;
+		} else if (object instanceof ChanConfiguration) {
+			return (T) ((ChanConfiguration) object).getLocator();
+		}
+		throw new IllegalArgumentException("Not linked: " + object);
+	}
+
+	// Benchmarks link a locator and a configuration once, the application does it per chan
+	public void bind(ChanConfiguration configuration) {
+		this.configuration = configuration;
+		configuration.setLocator(this);
+	}
+
+	ChanConfiguration getConfiguration() {
+		return configuration;
+	}
+
+	protected void addChanHost(String host) {
+		if (defaultHost == null) {
+			defaultHost = host;
+		}
+	}
+
+	public String getChanHost() {
+		return defaultHost;
+	}
+
+	public Uri buildPath(String... segments) {
+		return buildPathWithHost(defaultHost, segments);
+	}
+
+	public Uri buildPathWithHost(String host, String... segments) {
+		return buildPathWithSchemeHost(true, host, segments);
+	}
+
+	public Uri buildPathWithSchemeHost(boolean useScheme, String host, String... segments) {
+		Uri.Builder builder = new Uri.Builder().scheme(useScheme ? "https" : null).authority(host);
+		for (String segment : segments) {
+			if (segment != null) {
+				builder.appendEncodedPath(segment);
+			}
+		}
+		return builder.build();
+	}
+
+	public Uri buildQuery(String path, String... alternation) {
+		return buildQueryWithHost(defaultHost, path, alternation);
+	}
+
+	public Uri buildQueryWithHost(String host, String path, String... alternation) {
+		Uri.Builder builder = new Uri.Builder().scheme("https").authority(host).path("/" + path);
+		for (int i = 0; i + 1 < alternation.length; i += 2) {
+			builder.appendQueryParameter(alternation[i], alternation[i + 1]);
+		}
+		return builder.build();
+	}
+}
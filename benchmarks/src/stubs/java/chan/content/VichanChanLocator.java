@@ -0,0 +1,20 @@
+package chan.content;
+
+import android.net.Uri;
+
+// Stand-in with the builders used by VichanModelMapper
+public class VichanChanLocator extends ChanLocator {
+	protected static String DEFAULT_SEGMENT_PRESET = "";
+
+	public VichanChanLocator() {
+		addChanHost("vichan.example");
+	}
+
+	public Uri createFileUri(String boardName, String tim, String ext) {
+		return buildPath(DEFAULT_SEGMENT_PRESET, boardName, "src", tim + ext);
+	}
+
+	public Uri createThumbnailUri(String boardName, String thumbnail) {
+		return buildPath(DEFAULT_SEGMENT_PRESET, boardName, "thumb", thumbnail);
+	}
+}
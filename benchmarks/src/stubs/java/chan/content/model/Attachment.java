@@ -0,0 +1,4 @@
+package chan.content.model;
+
+public abstract class Attachment {
+}
@@ -0,0 +1,51 @@
+package chan.content.model;
+
+import android.net.Uri;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+public class EmbeddedAttachment extends Attachment {
+	private static final Pattern PATTERN_YOUTUBE = Pattern.compile("(?:https?://)?(?:www\\.|m\\.)?"
+			+ "(?:youtube\\.com/(?:watch\\?v=|embed/|v/)|youtu\\.be/)([\\w\\-]{11})");
+	private static final Pattern PATTERN_VOCAROO = Pattern.compile("(?:https?://)?(?:www\\.)?"
+			+ "(?:vocaroo\\.com|voca\\.ro)/(\\w+)");
+
+	private final Uri fileUri;
+	private final String embeddedType;
+	private final String embeddedId;
+
+	public EmbeddedAttachment(Uri fileUri, String embeddedType, String embeddedId) {
+		this.fileUri = fileUri;
+		this.embeddedType = embeddedType;
+		this.embeddedId = embeddedId;
+	}
+
+	public Uri getFileUri() {
+		return fileUri;
+	}
+
+	public String getEmbeddedType() {
+		return embeddedType;
+	}
+
+	public String getEmbeddedId() {
+		return embeddedId;
+	}
+
+	public static EmbeddedAttachment obtain(String data) {
+		if (data == null) {
+			return null;
+		}
+		Matcher matcher = PATTERN_YOUTUBE.matcher(data);
+		if (matcher.find()) {
+			String id = matcher.group(1);
+			return new EmbeddedAttachment(Uri.parse("https://www.youtube.com/watch?v=" + id), "youtube", id);
+		}
+		matcher = PATTERN_VOCAROO.matcher(data);
+		if (matcher.find()) {
+			String id = matcher.group(1);
+			return new EmbeddedAttachment(Uri.parse("https://vocaroo.com/" + id), "vocaroo", id);
+		}
+		return null;
+	}
+}
@@ -0,0 +1,67 @@
+package chan.content.model;
+
+import android.net.Uri;
+import chan.content.ChanLocator;
+
+public class FileAttachment extends Attachment {
+	private Uri fileUri;
+	private Uri thumbnailUri;
+	private String originalName;
+	private int size;
+	private int width;
+	private int height;
+
+	public Uri getFileUri(ChanLocator locator) {
+		return fileUri;
+	}
+
+	public FileAttachment setFileUri(ChanLocator locator, Uri fileUri) {
+		this.fileUri = fileUri;
+		return this;
+	}
+
+	public Uri getThumbnailUri(ChanLocator locator) {
+		return thumbnailUri;
+	}
+
+	public FileAttachment setThumbnailUri(ChanLocator locator, Uri thumbnailUri) {
+		this.thumbnailUri = thumbnailUri;
+		return this;
+	}
+
+	public String getOriginalName() {
+		return originalName;
+	}
+
+	public FileAttachment setOriginalName(String originalName) {
+		this.originalName = originalName;
+		return this;
+	}
+
+	public int getSize() {
+		return size;
+	}
+
+	public FileAttachment setSize(int size) {
+		this.size = size;
+		return this;
+	}
+
+	public int getWidth() {
+		return width;
+	}
+
+	public FileAttachment setWidth(int width) {
+		this.width = width;
+		return this;
+	}
+
+	public int getHeight() {
+		return height;
+	}
+
+	public FileAttachment setHeight(int height) {
+		this.height = height;
+		return this;
+	}
+}
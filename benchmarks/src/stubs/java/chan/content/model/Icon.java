@@ -0,0 +1,22 @@
+package chan.content.model;
+
+import android.net.Uri;
+import chan.content.ChanLocator;
+
+public final class Icon {
+	private final Uri uri;
+	private final String title;
+
+	public Icon(ChanLocator locator, Uri uri, String title) {
+		this.uri = uri;
+		this.title = title;
+	}
+
+	public Uri getUri(ChanLocator locator) {
+		return uri;
+	}
+
+	public String getTitle() {
+		return title;
+	}
+}
@@ -0,0 +1,237 @@
+package chan.content.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+public final class Post {
+	private static final int FLAG_ORIGINAL_POSTER = 0x00000001;
+	private static final int FLAG_STICKY = 0x00000002;
+	private static final int FLAG_CLOSED = 0x00000004;
+	private static final int FLAG_CYCLICAL = 0x00000008;
+	private static final int FLAG_ARCHIVED = 0x00000010;
+	private static final int FLAG_POSTER_BANNED = 0x00000020;
+	private static final int FLAG_POSTER_WARNED = 0x00000040;
+	private static final int FLAG_SAGE = 0x00000080;
+
+	private String postNumber;
+	private String parentPostNumber;
+	private String subject;
+	private String comment;
+	private String name;
+	private String identifier;
+	private String tripcode;
+	private String capcode;
+	private String email;
+	private long timestamp;
+	private int flags;
+	private int likes = -1;
+	private int dislikes = -1;
+	private List<Attachment> attachments = Collections.emptyList();
+	private List<Icon> icons = Collections.emptyList();
+
+	public String getPostNumber() {
+		return postNumber;
+	}
+
+	public Post setPostNumber(String postNumber) {
+		this.postNumber = postNumber;
+		return this;
+	}
+
+	public String getParentPostNumber() {
+		return parentPostNumber;
+	}
+
+	public Post setParentPostNumber(String parentPostNumber) {
+		this.parentPostNumber = parentPostNumber;
+		return this;
+	}
+
+	public String getSubject() {
+		return subject;
+	}
+
+	public Post setSubject(String subject) {
+		this.subject = subject;
+		return this;
+	}
+
+	public String getComment() {
+		return comment;
+	}
+
+	public Post setComment(String comment) {
+		this.comment = comment;
+		return this;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public Post setName(String name) {
+		this.name = name;
+		return this;
+	}
+
+	public String getIdentifier() {
+		return identifier;
+	}
+
+	public Post setIdentifier(String identifier) {
+		this.identifier = identifier;
+		return this;
+	}
+
+	public String getTripcode() {
+		return tripcode;
+	}
+
+	public Post setTripcode(String tripcode) {
+		this.tripcode = tripcode;
+		return this;
+	}
+
+	public String getCapcode() {
+		return capcode;
+	}
+
+	public Post setCapcode(String capcode) {
+		this.capcode = capcode;
+		return this;
+	}
+
+	public String getEmail() {
+		return email;
+	}
+
+	public Post setEmail(String email) {
+		this.email = email;
+		return this;
+	}
+
+	public long getTimestamp() {
+		return timestamp;
+	}
+
+	public Post setTimestamp(long timestamp) {
+		this.timestamp = timestamp;
+		return this;
+	}
+
+	public boolean isOriginalPoster() {
+		return (flags & FLAG_ORIGINAL_POSTER) != 0;
+	}
+
+	public Post setOriginalPoster(boolean originalPoster) {
+		flags = originalPoster ? flags | FLAG_ORIGINAL_POSTER : flags & ~FLAG_ORIGINAL_POSTER;
+		return this;
+	}
+
+	public boolean isSticky() {
+		return (flags & FLAG_STICKY) != 0;
+	}
+
+	public Post setSticky(boolean sticky) {
+		flags = sticky ? flags | FLAG_STICKY : flags & ~FLAG_STICKY;
+		return this;
+	}
+
+	public boolean isClosed() {
+		return (flags & FLAG_CLOSED) != 0;
+	}
+
+	public Post setClosed(boolean closed) {
+		flags = closed ? flags | FLAG_CLOSED : flags & ~FLAG_CLOSED;
+		return this;
+	}
+
+	public boolean isCyclical() {
+		return (flags & FLAG_CYCLICAL) != 0;
+	}
+
+	public Post setCyclical(boolean cyclical) {
+		flags = cyclical ? flags | FLAG_CYCLICAL : flags & ~FLAG_CYCLICAL;
+		return this;
+	}
+
+	public boolean isArchived() {
+		return (flags & FLAG_ARCHIVED) != 0;
+	}
+
+	public Post setArchived(boolean archived) {
+		flags = archived ? flags | FLAG_ARCHIVED : flags & ~FLAG_ARCHIVED;
+		return this;
+	}
+
+	public boolean isPosterBanned() {
+		return (flags & FLAG_POSTER_BANNED) != 0;
+	}
+
+	public Post setPosterBanned(boolean posterBanned) {
+		flags = posterBanned ? flags | FLAG_POSTER_BANNED : flags & ~FLAG_POSTER_BANNED;
+		return this;
+	}
+
+	public boolean isPosterWarned() {
+		return (flags & FLAG_POSTER_WARNED) != 0;
+	}
+
+	public Post setPosterWarned(boolean posterWarned) {
+		flags = posterWarned ? flags | FLAG_POSTER_WARNED : flags & ~FLAG_POSTER_WARNED;
+		return this;
+	}
+
+	public boolean isSage() {
+		return (flags & FLAG_SAGE) != 0;
+	}
+
+	public Post setSage(boolean sage) {
+		flags = sage ? flags | FLAG_SAGE : flags & ~FLAG_SAGE;
+		return this;
+	}
+
+	public Post setVote(int likes, int dislikes) {
+		this.likes = likes;
+		this.dislikes = dislikes;
+		return this;
+	}
+
+	public int getLikes() {
+		return likes;
+	}
+
+	public int getDislikes() {
+		return dislikes;
+	}
+
+	public List<Attachment> getAttachments() {
+		return attachments;
+	}
+
+	public int getAttachmentsCount() {
+		return attachments.size();
+	}
+
+	public Post setAttachments(Collection<? extends Attachment> attachments) {
+		this.attachments = attachments != null && !attachments.isEmpty()
+				? new ArrayList<>(attachments) : Collections.emptyList();
+		return this;
+	}
+
+	public Post setAttachments(Attachment... attachments) {
+		return setAttachments(Arrays.asList(attachments));
+	}
+
+	public List<Icon> getIcons() {
+		return icons;
+	}
+
+	public Post setIcons(Collection<Icon> icons) {
+		this.icons = icons != null && !icons.isEmpty() ? new ArrayList<>(icons) : Collections.emptyList();
+		return this;
+	}
+}
@@ -0,0 +1,47 @@
+package chan.content.model;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+public final class Posts {
+	private final List<Post> posts;
+	private int postsCount;
+	private int filesCount;
+	private int postsWithFilesCount;
+
+	public Posts(Collection<? extends Post> posts) {
+		this.posts = new ArrayList<>(posts);
+	}
+
+	public List<Post> getPosts() {
+		return posts;
+	}
+
+	public Posts addPostsCount(int postsCount) {
+		this.postsCount += postsCount;
+		return this;
+	}
+
+	public int getPostsCount() {
+		return postsCount;
+	}
+
+	public Posts addFilesCount(int filesCount) {
+		this.filesCount += filesCount;
+		return this;
+	}
+
+	public int getFilesCount() {
+		return filesCount;
+	}
+
+	public Posts addPostsWithFilesCount(int postsWithFilesCount) {
+		this.postsWithFilesCount += postsWithFilesCount;
+		return this;
+	}
+
+	public int getPostsWithFilesCount() {
+		return postsWithFilesCount;
+	}
+}
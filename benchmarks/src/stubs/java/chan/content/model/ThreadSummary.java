@@ -0,0 +1,25 @@
+package chan.content.model;
+
+public final class ThreadSummary {
+	private final String boardName;
+	private final String threadNumber;
+	private final String description;
+
+	public ThreadSummary(String boardName, String threadNumber, String description) {
+		this.boardName = boardName;
+		this.threadNumber = threadNumber;
+		this.description = description;
+	}
+
+	public String getBoardName() {
+		return boardName;
+	}
+
+	public String getThreadNumber() {
+		return threadNumber;
+	}
+
+	public String getDescription() {
+		return description;
+	}
+}
@@ -0,0 +1,266 @@
+package chan.text;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+
+// Streaming reader and writer on top of Jackson, as the library implementation does
+public class JsonSerial {
+	private static final JsonFactory FACTORY = new JsonFactory();
+
+	public interface Reader extends Closeable {
+		void startObject() throws IOException, ParseException;
+		void startArray() throws IOException, ParseException;
+		boolean endStruct() throws IOException, ParseException;
+		String nextName() throws IOException, ParseException;
+		String nextString() throws IOException, ParseException;
+		int nextInt() throws IOException, ParseException;
+		long nextLong() throws IOException, ParseException;
+		double nextDouble() throws IOException, ParseException;
+		boolean nextBoolean() throws IOException, ParseException;
+		void skip() throws IOException, ParseException;
+	}
+
+	public interface Writer extends Closeable {
+		void startObject() throws IOException;
+		void endObject() throws IOException;
+		void startArray() throws IOException;
+		void endArray() throws IOException;
+		void name(String name) throws IOException;
+		void value(String value) throws IOException;
+		void value(boolean value) throws IOException;
+		void value(int value) throws IOException;
+		void value(long value) throws IOException;
+		byte[] build() throws IOException;
+	}
+
+	public static Reader reader(InputStream input) throws IOException, ParseException {
+		return new JacksonReader(FACTORY.createParser(input));
+	}
+
+	public static Reader reader(byte[] data) throws IOException, ParseException {
+		return new JacksonReader(FACTORY.createParser(data));
+	}
+
+	public static Writer writer() throws IOException {
+		return new JacksonWriter();
+	}
+
+	private static class JacksonReader implements Reader {
+		private final JsonParser parser;
+		private boolean peeked;
+
+		public JacksonReader(JsonParser parser) {
+			this.parser = parser;
+		}
+
+		private JsonToken next() throws IOException {
+			if (peeked) {
+				peeked = false;
+				return parser.currentToken();
+			}
+			return parser.nextToken();
+		}
+
+		private JsonToken peek() throws IOException {
+			if (!peeked) {
+				parser.nextToken();
+				peeked = true;
+			}
+			return parser.currentToken();
+		}
+
+		private static ParseException unexpected(JsonToken token) {
+			return new ParseException("Unexpected token: " + token);
+		}
+
+		@Override
+		public void startObject() throws IOException, ParseException {
+			JsonToken token = next();
+			if (token != JsonToken.START_OBJECT) {
+				throw unexpected(token);
+			}
+		}
+
+		@Override
+		public void startArray() throws IOException, ParseException {
+			JsonToken token = next();
+			if (token != JsonToken.START_ARRAY) {
+				throw unexpected(token);
+			}
+		}
+
+		@Override
+		public boolean endStruct() throws IOException, ParseException {
+			JsonToken token = peek();
+			if (token == JsonToken.END_OBJECT || token == JsonToken.END_ARRAY) {
+				peeked = false;
+				return true;
+			} else if (token == null) {
+				throw unexpected(null);
+			}
+			return false;
+		}
+
+		@Override
+		public String nextName() throws IOException, ParseException {
+			JsonToken token = next();
+			if (token != JsonToken.FIELD_NAME) {
+				throw unexpected(token);
+			}
+			return parser.currentName();
+		}
+
+		@Override
+		public String nextString() throws IOException, ParseException {
+			JsonToken token = next();
+			if (token == null) {
+				throw unexpected(null);
+			}
+			switch (token) {
+				case VALUE_STRING:
+				case VALUE_NUMBER_INT:
+				case VALUE_NUMBER_FLOAT:
+				case VALUE_TRUE:
+				case VALUE_FALSE: {
+					return parser.getText();
+				}
+				case VALUE_NULL: {
+					return null;
+				}
+				default: {
+					throw unexpected(token);
+				}
+			}
+		}
+
+		@Override
+		public int nextInt() throws IOException, ParseException {
+			return (int) nextLong();
+		}
+
+		@Override
+		public long nextLong() throws IOException, ParseException {
+			JsonToken token = next();
+			if (token == JsonToken.VALUE_NUMBER_INT || token == JsonToken.VALUE_NUMBER_FLOAT) {
+				return parser.getLongValue();
+			} else if (token == JsonToken.VALUE_STRING) {
+				try {
+					return Long.parseLong(parser.getText());
+				} catch (NumberFormatException e) {
+					throw new ParseException(e);
+				}
+			} else if (token == JsonToken.VALUE_NULL) {
+				return 0L;
+			}
+			throw unexpected(token);
+		}
+
+		@Override
+		public double nextDouble() throws IOException, ParseException {
+			JsonToken token = next();
+			if (token == JsonToken.VALUE_NUMBER_INT || token == JsonToken.VALUE_NUMBER_FLOAT) {
+				return parser.getDoubleValue();
+			}
+			throw unexpected(token);
+		}
+
+		@Override
+		public boolean nextBoolean() throws IOException, ParseException {
+			JsonToken token = next();
+			if (token == JsonToken.VALUE_TRUE) {
+				return true;
+			} else if (token == JsonToken.VALUE_FALSE || token == JsonToken.VALUE_NULL) {
+				return false;
+			} else if (token == JsonToken.VALUE_NUMBER_INT) {
+				return parser.getIntValue() != 0;
+			}
+			throw unexpected(token);
+		}
+
+		@Override
+		public void skip() throws IOException, ParseException {
+			JsonToken token = next();
+			if (token == JsonToken.START_OBJECT || token == JsonToken.START_ARRAY) {
+				parser.skipChildren();
+			} else if (token == null || token == JsonToken.END_OBJECT || token == JsonToken.END_ARRAY) {
+				throw unexpected(token);
+			}
+		}
+
+		@Override
+		public void close() throws IOException {
+			parser.close();
+		}
+	}
+
+	private static class JacksonWriter implements Writer {
+		private final ByteArrayOutputStream output = new ByteArrayOutputStream();
+		private final JsonGenerator generator;
+
+		public JacksonWriter() throws IOException {
+			generator = FACTORY.createGenerator(output);
+		}
+
+		@Override
+		public void startObject() throws IOException {
+			generator.writeStartObject();
+		}
+
+		@Override
+		public void endObject() throws IOException {
+			generator.writeEndObject();
+		}
+
+		@Override
+		public void startArray() throws IOException {
+			generator.writeStartArray();
+		}
+
+		@Override
+		public void endArray() throws IOException {
+			generator.writeEndArray();
+		}
+
+		@Override
+		public void name(String name) throws IOException {
+			generator.writeFieldName(name);
+		}
+
+		@Override
+		public void value(String value) throws IOException {
+			generator.writeString(value);
+		}
+
+		@Override
+		public void value(boolean value) throws IOException {
+			generator.writeBoolean(value);
+		}
+
+		@Override
+		public void value(int value) throws IOException {
+			generator.writeNumber(value);
+		}
+
+		@Override
+		public void value(long value) throws IOException {
+			generator.writeNumber(value);
+		}
+
+		@Override
+		public byte[] build() throws IOException {
+			generator.flush();
+			return output.toByteArray();
+		}
+
+		@Override
+		public void close() throws IOException {
+			generator.close();
+		}
+	}
+}
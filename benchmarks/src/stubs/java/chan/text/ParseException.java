@@ -0,0 +1,13 @@
+package chan.text;
+
+public class ParseException extends Exception {
+	public ParseException() {}
+
+	public ParseException(String message) {
+		super(message);
+	}
+
+	public ParseException(Throwable cause) {
+		super(cause);
+	}
+}
@@ -0,0 +1,7 @@
+package chan.util;
+
+public class CommonUtils {
+	public static boolean equals(Object first, Object second) {
+		return first == null ? second == null : first.equals(second);
+	}
+}
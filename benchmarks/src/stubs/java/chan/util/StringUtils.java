@@ -0,0 +1,136 @@
+package chan.util;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Stand-in with the same contracts as the library helpers used by the mappers
+public class StringUtils {
+	private static final Pattern PATTERN_LINK = Pattern.compile("(?<![\"'=>/])\\bhttps?://[^\\s<>\"']+");
+
+	public interface ReplacementCallback {
+		String getReplacement(Matcher matcher);
+	}
+
+	public static boolean isEmpty(CharSequence string) {
+		return string == null || string.length() == 0;
+	}
+
+	public static String nullIfEmpty(String string) {
+		return isEmpty(string) ? null : string;
+	}
+
+	public static String emptyIfNull(CharSequence string) {
+		return string == null ? "" : string.toString();
+	}
+
+	public static String replaceAll(String string, Pattern pattern, ReplacementCallback callback) {
+		Matcher matcher = pattern.matcher(string);
+		if (!matcher.find()) {
+			return string;
+		}
+		StringBuilder builder = new StringBuilder(string.length());
+		int start = 0;
+		do {
+			builder.append(string, start, matcher.start()).append(callback.getReplacement(matcher));
+			start = matcher.end();
+		} while (matcher.find());
+		return builder.append(string, start, string.length()).toString();
+	}
+
+	public static String linkify(String string) {
+		return replaceAll(string, PATTERN_LINK, matcher -> "<a href=\"" + matcher.group() + "\">"
+				+ matcher.group() + "</a>");
+	}
+
+	public static String clearHtml(String string) {
+		if (string == null) {
+			return null;
+		}
+		int length = string.length();
+		StringBuilder builder = null;
+		for (int i = 0; i < length; i++) {
+			char c = string.charAt(i);
+			if (c == '<') {
+				int end = string.indexOf('>', i);
+				if (end < 0) {
+					if (builder != null) {
+						builder.append(string, i, length);
+					}
+					break;
+				}
+				if (builder == null) {
+					builder = new StringBuilder(length);
+					builder.append(string, 0, i);
+				}
+				if (string.regionMatches(true, i + 1, "br", 0, 2)) {
+					builder.append('\n');
+				}
+				i = end;
+			} else if (builder != null) {
+				builder.append(c);
+			}
+		}
+		return unescapeHtml(builder != null ? builder.toString() : string);
+	}
+
+	public static String unescapeHtml(String string) {
+		if (string == null || string.indexOf('&') < 0) {
+			return string;
+		}
+		int length = string.length();
+		StringBuilder builder = new StringBuilder(length);
+		for (int i = 0; i < length; i++) {
+			char c = string.charAt(i);
+			int end = c == '&' ? string.indexOf(';', i) : -1;
+			if (end > i + 1 && end - i <= 10) {
+				String entity = string.substring(i + 1, end);
+				int codePoint = -1;
+				switch (entity) {
+					case "amp": {
+						codePoint = '&';
+						break;
+					}
+					case "lt": {
+						codePoint = '<';
+						break;
+					}
+					case "gt": {
+						codePoint = '>';
+						break;
+					}
+					case "quot": {
+						codePoint = '"';
+						break;
+					}
+					case "apos": {
+						codePoint = '\'';
+						break;
+					}
+					case "nbsp": {
+						codePoint = ' ';
+						break;
+					}
+					default: {
+						if (entity.startsWith("#")) {
+							try {
+								codePoint = entity.startsWith("#x") || entity.startsWith("#X")
+										? Integer.parseInt(entity.substring(2), 16)
+										: Integer.parseInt(entity.substring(1));
+							} catch (NumberFormatException e) {
+								// Not an entity
+							}
+						}
+						break;
+					}
+				}
+				if (codePoint >= 0) {
+					builder.appendCodePoint(codePoint);
+					i = end;
+					continue;
+				}
+			}
+			builder.append(c);
+		}
+		return builder.toString();
+	}
+}
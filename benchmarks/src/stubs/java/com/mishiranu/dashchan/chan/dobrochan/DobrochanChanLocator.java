@@ -0,0 +1,9 @@
+package com.mishiranu.dashchan.chan.dobrochan;
+
+import chan.content.ChanLocator;
+
+public class DobrochanChanLocator extends ChanLocator {
+	public DobrochanChanLocator() {
+		addChanHost("dobrochan.net");
+	}
+}
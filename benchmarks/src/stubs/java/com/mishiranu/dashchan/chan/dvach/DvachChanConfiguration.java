@@ -0,0 +1,5 @@
+package com.mishiranu.dashchan.chan.dvach;
+
+import chan.content.ChanConfiguration;
+
+public class DvachChanConfiguration extends ChanConfiguration {}
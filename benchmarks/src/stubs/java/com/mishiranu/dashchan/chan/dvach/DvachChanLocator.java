@@ -0,0 +1,15 @@
+package com.mishiranu.dashchan.chan.dvach;
+
+import android.net.Uri;
+import chan.content.ChanLocator;
+
+// Stand-in with the builders used by DvachModelMapper and DvachCommentRewriter
+public class DvachChanLocator extends ChanLocator {
+	public DvachChanLocator() {
+		addChanHost("2ch.hk");
+	}
+
+	public Uri createCatalogSearchUri(String boardName, String query) {
+		return buildQuery(boardName + "/dashchan-query", "query", query);
+	}
+}
@@ -0,0 +1,18 @@
+package com.mishiranu.dashchan.chan.dvach;
+
+// Stand-in for the generated resource ids of res/raw
+public final class R {
+	public static final class raw {
+		public static final int raw_browser = 0x7f010000;
+		public static final int raw_browser_chrome = 0x7f010001;
+		public static final int raw_browser_edge = 0x7f010002;
+		public static final int raw_browser_firefox = 0x7f010003;
+		public static final int raw_browser_opera = 0x7f010004;
+		public static final int raw_browser_safari = 0x7f010005;
+		public static final int raw_os = 0x7f010006;
+		public static final int raw_os_android = 0x7f010007;
+		public static final int raw_os_apple = 0x7f010008;
+		public static final int raw_os_linux = 0x7f010009;
+		public static final int raw_os_windows = 0x7f01000a;
+	}
+}
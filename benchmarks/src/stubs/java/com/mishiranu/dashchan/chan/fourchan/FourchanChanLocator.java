@@ -0,0 +1,40 @@
+package com.mishiranu.dashchan.chan.fourchan;
+
+import android.net.Uri;
+import chan.content.ChanLocator;
+import java.io.UnsupportedEncodingException;
+import java.net.URLEncoder;
+import java.util.Locale;
+
+// Stand-in with the builders used by FourchanModelMapper
+public class FourchanChanLocator extends ChanLocator {
+	private static final String HOST_IMAGES = "i.4cdn.org";
+	private static final String HOST_STATIC = "s.4cdn.org";
+
+	public FourchanChanLocator() {
+		addChanHost("boards.4chan.org");
+	}
+
+	public Uri buildAttachmentPath(String... segments) {
+		return buildPathWithSchemeHost(true, HOST_IMAGES, segments);
+	}
+
+	public Uri createCountryIconUri(String key) {
+		String fileName = key.toLowerCase(Locale.US) + ".gif";
+		return buildPathWithSchemeHost(true, HOST_STATIC, "image", "country", fileName);
+	}
+
+	public Uri createBoardFlagIconUri(String boardName, String key) {
+		String fileName = key.toLowerCase(Locale.US) + ".gif";
+		return buildPathWithSchemeHost(true, HOST_STATIC, "image", "flags", boardName, fileName);
+	}
+
+	public Uri buildMathUri(String data) {
+		try {
+			return buildPathWithHost(HOST_IMAGES, "math-tag",
+					URLEncoder.encode(data, "UTF-8").replace("+", "%20") + ".png");
+		} catch (UnsupportedEncodingException e) {
+			throw new RuntimeException(e);
+		}
+	}
+}
@@ -0,0 +1,9 @@
+package com.mishiranu.dashchan.chan.moechannel;
+
+import chan.content.ChanLocator;
+
+public class MoechannelChanLocator extends ChanLocator {
+	public MoechannelChanLocator() {
+		addChanHost("2channel.moe");
+	}
+}
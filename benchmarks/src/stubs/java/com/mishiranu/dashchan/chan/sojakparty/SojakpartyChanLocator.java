@@ -0,0 +1,17 @@
+package com.mishiranu.dashchan.chan.sojakparty;
+
+import android.net.Uri;
+import chan.content.ChanLocator;
+import java.util.Locale;
+
+// Stand-in with the builders used by SojakpartyModelMapper
+public class SojakpartyChanLocator extends ChanLocator {
+	public SojakpartyChanLocator() {
+		addChanHost("soyjak.party");
+	}
+
+	public Uri createCountryIconUri(String key) {
+		String fileName = key.toLowerCase(Locale.US) + ".png";
+		return buildPathWithSchemeHost(true, "soyjak.party", "static", "flags", fileName);
+	}
+}
@@ -0,0 +1,120 @@
+package chan.content;
+
+import java.text.DateFormatSymbols;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Locale;
+import java.util.Random;
+import java.util.TimeZone;
+import org.junit.Assert;
+import org.junit.Test;
+
+// Compares TimestampParser with the SimpleDateFormat instances it replaced
+public class TimestampParserTest {
+	private static final String[] RUSSIAN_MONTHS = {"января", "февраля", "марта", "апреля", "мая", "июня",
+			"июля", "августа", "сентября", "октября", "ноября", "декабря"};
+	private static final String[] RUSSIAN_SHORT_WEEKDAYS = {"", "Вс", "Пн", "Вт", "Ср", "Чт", "Пт", "Сб"};
+
+	private static final int SAMPLES = 20000;
+
+	private static class Format {
+		public final String pattern;
+		public final String timeZone;
+		public final boolean russian;
+
+		public Format(String pattern, String timeZone, boolean russian) {
+			this.pattern = pattern;
+			this.timeZone = timeZone;
+			this.russian = russian;
+		}
+
+		public TimestampParser createParser() {
+			return TimestampParser.get(pattern, timeZone, russian ? RUSSIAN_MONTHS : null);
+		}
+
+		public SimpleDateFormat createDateFormat() {
+			SimpleDateFormat dateFormat;
+			if (russian) {
+				DateFormatSymbols symbols = new DateFormatSymbols();
+				symbols.setShortWeekdays(RUSSIAN_SHORT_WEEKDAYS);
+				symbols.setMonths(RUSSIAN_MONTHS);
+				dateFormat = new SimpleDateFormat(pattern, symbols);
+			} else {
+				dateFormat = new SimpleDateFormat(pattern, Locale.US);
+			}
+			dateFormat.setTimeZone(TimeZone.getTimeZone(timeZone));
+			dateFormat.setLenient(false);
+			return dateFormat;
+		}
+	}
+
+	private static final Format[] FORMATS = {
+		new Format("yyyy-MM-dd'T'HH:mm:ssZZZZZ", "UTC", false),
+		new Format("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'", "UTC", false),
+		new Format("yyyy-MM-dd HH:mm:ss", "Europe/Moscow", false),
+		new Format("yyyy-MM-dd HH:mm:ss", "America/Los_Angeles", false),
+		new Format("yy/MM/dd(EEE)HH:mm", "GMT+3", false),
+		new Format("yy/MM/dd(EEE)HH:mm", "GMT-8", false),
+		new Format("EE dd MMMM yy HH:mm:ss", "GMT+3", true)
+	};
+
+	@Test
+	public void matchesSimpleDateFormat() throws ParseException {
+		Random random = new Random(0);
+		long start = 946684800000L; // 2000-01-01
+		long end = 1893456000000L; // 2030-01-01
+		for (Format format : FORMATS) {
+			TimestampParser parser = format.createParser();
+			SimpleDateFormat dateFormat = format.createDateFormat();
+			for (int i = 0; i < SAMPLES; i++) {
+				long time = start + (long) (random.nextDouble() * (end - start));
+				String text = dateFormat.format(new Date(time));
+				Assert.assertEquals(format.pattern + " " + text,
+						dateFormat.parse(text).getTime(), parser.parse(text));
+			}
+		}
+	}
+
+	@Test
+	public void parsesOffsets() throws ParseException {
+		TimestampParser parser = TimestampParser.get("yyyy-MM-dd'T'HH:mm:ssZZZZZ", "UTC");
+		Assert.assertEquals(1577836800000L, parser.parse("2020-01-01T00:00:00Z"));
+		Assert.assertEquals(1577836800000L, parser.parse("2020-01-01T03:00:00+03:00"));
+		Assert.assertEquals(1577836800000L, parser.parse("2019-12-31T19:00:00-0500"));
+	}
+
+	@Test
+	public void rejectsInvalidDates() {
+		TimestampParser parser = TimestampParser.get("yyyy-MM-dd HH:mm:ss", "UTC");
+		SimpleDateFormat dateFormat = new Format("yyyy-MM-dd HH:mm:ss", "UTC", false).createDateFormat();
+		String[] texts = {"2021-02-29 10:00:00", "2020-02-30 10:00:00", "2020-04-31 10:00:00",
+				"2020-13-01 10:00:00", "2020-00-10 10:00:00", "2020-01-00 10:00:00", "2020-01-01 24:00:00",
+				"2020-01-01 10:60:00", "2020-01-01 10:00:60", "2020-01-01"};
+		for (String text : texts) {
+			assertRejected(text, () -> parser.parse(text));
+			assertRejected(text, () -> dateFormat.parse(text));
+		}
+	}
+
+	@Test
+	public void acceptsLeapDays() throws ParseException {
+		TimestampParser parser = TimestampParser.get("yyyy-MM-dd HH:mm:ss", "UTC");
+		Assert.assertEquals(951782400000L, parser.parse("2000-02-29 00:00:00"));
+		Assert.assertEquals(1582934400000L, parser.parse("2020-02-29 00:00:00"));
+		assertRejected("1900-02-29", () -> parser.parse("1900-02-29 00:00:00"));
+	}
+
+	private interface Parse {
+		void parse() throws ParseException;
+	}
+
+	private static void assertRejected(String text, Parse parse) {
+		try {
+			parse.parse();
+			Assert.fail("Accepted " + text);
+		} catch (ParseException e) {
+			// Expected
+		}
+	}
+}
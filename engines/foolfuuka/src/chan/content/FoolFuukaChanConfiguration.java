@@ -1,6 +1,11 @@
 package chan.content;
 
+import chan.content.model.Posts;
+import java.util.Collection;
+
 public class FoolFuukaChanConfiguration extends ChanConfiguration {
+	private final FoolFuukaPostThreadMap postThreadMap = new FoolFuukaPostThreadMap();
+
 	public FoolFuukaChanConfiguration() {
 		setDefaultName("Anonymous");
 	}
@@ -19,4 +24,16 @@ public class FoolFuukaChanConfiguration extends ChanConfiguration {
 		statistics.threadsCreated = false;
 		return statistics;
 	}
+
+	public String getPostThreadNumber(String boardName, String postNumber) {
+		return postThreadMap.get(this, boardName, postNumber);
+	}
+
+	public void storePostThreadNumbers(String boardName, Posts thread) {
+		postThreadMap.put(this, boardName, thread);
+	}
+
+	public void storePostThreadNumbers(String boardName, Collection<Posts> threads) {
+		postThreadMap.put(this, boardName, threads);
+	}
 }
@@ -58,4 +58,8 @@ public class FoolFuukaChanLocator extends ChanLocator {
 	public Uri createPostUri(String boardName, String threadNumber, String postNumber) {
 		return createThreadUri(boardName, threadNumber).buildUpon().fragment(postNumber).build();
 	}
+
+	public Uri createApiUri(String method, String... alternation) {
+		return buildQuery("_/api/chan/" + method + "/", alternation);
+	}
 }
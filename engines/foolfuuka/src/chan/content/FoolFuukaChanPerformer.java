@@ -4,6 +4,7 @@ import android.net.Uri;
 
 import chan.content.model.Board;
 import chan.content.model.BoardsParser;
+import chan.content.model.Posts;
 import chan.content.model.PostsParser;
 import chan.http.HttpException;
 import chan.http.HttpRequest;
@@ -12,17 +13,67 @@ import chan.text.ParseException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.HttpURLConnection;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 public class FoolFuukaChanPerformer extends ChanPerformer {
+	private final HashSet<String> htmlOnlyHosts = new HashSet<>();
+
+	private boolean isJsonApiAvailable() {
+		if (!isJsonApiSupported()) {
+			return false;
+		}
+		String host = ChanLocator.get(this).buildPath().getHost();
+		synchronized (htmlOnlyHosts) {
+			return !htmlOnlyHosts.contains(host);
+		}
+	}
+
+	private static boolean isJsonApiResponse(HttpResponse response) throws HttpException {
+		int responseCode = response.getResponseCode();
+		if (responseCode == HttpURLConnection.HTTP_NOT_MODIFIED) {
+			response.checkResponseCode();
+		}
+		// Other API errors are handled by falling back to HTML
+		return responseCode >= HttpURLConnection.HTTP_OK && responseCode < HttpURLConnection.HTTP_MULT_CHOICE;
+	}
+
+	private void markJsonApiUnavailable() {
+		String host = ChanLocator.get(this).buildPath().getHost();
+		synchronized (htmlOnlyHosts) {
+			htmlOnlyHosts.add(host);
+		}
+	}
+
 	@Override
 	public ReadThreadsResult onReadThreads(ReadThreadsData data) throws HttpException, InvalidResponseException {
 		FoolFuukaChanLocator locator = ChanLocator.get(this);
+		FoolFuukaChanConfiguration configuration = ChanConfiguration.get(this);
+		if (isJsonApiAvailable()) {
+			Uri uri = locator.createApiUri("index", "board", data.boardName,
+					"page", Integer.toString(data.pageNumber + 1));
+			HttpResponse response = new HttpRequest(uri, data).setValidator(data.validator)
+					.setSuccessOnly(false).perform();
+			if (isJsonApiResponse(response)) {
+				try (InputStream input = response.open()) {
+					ArrayList<Posts> threads = getJsonPostsParser().convertThreads(input);
+					configuration.storePostThreadNumbers(data.boardName, threads);
+					return new ReadThreadsResult(threads);
+				} catch (ParseException e) {
+					markJsonApiUnavailable();
+				} catch (IOException e) {
+					throw response.fail(e);
+				}
+			}
+		}
 		Uri uri = locator.buildPath(data.boardName, "page", Integer.toString(data.pageNumber + 1), "");
 		HttpResponse response = new HttpRequest(uri, data).setValidator(data.validator).perform();
 		try (InputStream input = response.open()) {
-			return new ReadThreadsResult(getPostsParser().convertThreads(input));
+			ArrayList<Posts> threads = getPostsParser().convertThreads(input);
+			configuration.storePostThreadNumbers(data.boardName, threads);
+			return new ReadThreadsResult(threads);
 		} catch (ParseException e) {
 			throw new InvalidResponseException(e);
 		} catch (IOException e) {
@@ -38,23 +89,54 @@ public class FoolFuukaChanPerformer extends ChanPerformer {
 	public ReadPostsResult onReadPosts(ReadPostsData data) throws HttpException, InvalidResponseException,
 			RedirectException {
 		FoolFuukaChanLocator locator = ChanLocator.get(this);
+		FoolFuukaChanConfiguration configuration = ChanConfiguration.get(this);
+		String knownThreadNumber = configuration.getPostThreadNumber(data.boardName, data.threadNumber);
+		if (knownThreadNumber != null) {
+			// Reply number was seen in one of parsed threads
+			throw RedirectException.toThread(data.boardName, knownThreadNumber, data.threadNumber);
+		}
+		// TODO Move to child classes
+		Uri threadUri = locator.buildPathWithHost("boards.4chan.org", data.boardName, "thread", data.threadNumber);
+		if (isJsonApiAvailable()) {
+			Uri uri = locator.createApiUri("thread", "board", data.boardName, "num", data.threadNumber);
+			HttpResponse response = new HttpRequest(uri, data).setValidator(data.validator)
+					.setSuccessOnly(false).perform();
+			if (response.getResponseCode() == HttpURLConnection.HTTP_NOT_FOUND) {
+				String threadNumber = readPostThreadNumber(data);
+				if (threadNumber == null) {
+					throw HttpException.createNotFoundException();
+				} else if (!threadNumber.equals(data.threadNumber)) {
+					throw RedirectException.toThread(data.boardName, threadNumber, data.threadNumber);
+				}
+				// Thread exists but API didn't find it
+				markJsonApiUnavailable();
+			} else if (isJsonApiResponse(response)) {
+				try (InputStream input = response.open()) {
+					Posts thread = getJsonPostsParser().convertPosts(input, threadUri);
+					configuration.storePostThreadNumbers(data.boardName, thread);
+					return new ReadPostsResult(thread);
+				} catch (ParseException e) {
+					markJsonApiUnavailable();
+				} catch (IOException e) {
+					throw response.fail(e);
+				}
+			}
+		}
 		Uri uri = locator.createThreadUri(data.boardName, data.threadNumber);
 		HttpResponse response = new HttpRequest(uri, data).setValidator(data.validator).setSuccessOnly(false).perform();
 		if (response.getResponseCode() == HttpURLConnection.HTTP_NOT_FOUND) {
-			uri = locator.buildPath(data.boardName, "post", data.threadNumber, "");
-			String responseText = new HttpRequest(uri, data).perform().readString();
-			Matcher matcher = PATTERN_REDIRECT.matcher(responseText);
-			if (matcher.find()) {
-				throw RedirectException.toThread(data.boardName, matcher.group(1), data.threadNumber);
+			String threadNumber = readPostThreadNumber(data);
+			if (threadNumber != null) {
+				throw RedirectException.toThread(data.boardName, threadNumber, data.threadNumber);
 			}
 			throw HttpException.createNotFoundException();
 		} else {
 			response.checkResponseCode();
 		}
 		try (InputStream input = response.open()) {
-			// TODO Move to child classes
-			Uri threadUri = locator.buildPathWithHost("boards.4chan.org", data.boardName, "thread", data.threadNumber);
-			return new ReadPostsResult(getPostsParser().convertPosts(input, threadUri));
+			Posts thread = getPostsParser().convertPosts(input, threadUri);
+			configuration.storePostThreadNumbers(data.boardName, thread);
+			return new ReadPostsResult(thread);
 		} catch (ParseException e) {
 			throw new InvalidResponseException(e);
 		} catch (IOException e) {
@@ -64,10 +146,33 @@ public class FoolFuukaChanPerformer extends ChanPerformer {
 		}
 	}
 
+	private String readPostThreadNumber(ReadPostsData data) throws HttpException {
+		FoolFuukaChanLocator locator = ChanLocator.get(this);
+		Uri uri = locator.buildPath(data.boardName, "post", data.threadNumber, "");
+		String responseText = new HttpRequest(uri, data).perform().readString();
+		Matcher matcher = PATTERN_REDIRECT.matcher(responseText);
+		return matcher.find() ? matcher.group(1) : null;
+	}
+
 	@Override
 	public ReadSearchPostsResult onReadSearchPosts(ReadSearchPostsData data) throws HttpException,
 			InvalidResponseException {
 		FoolFuukaChanLocator locator = ChanLocator.get(this);
+		if (isJsonApiAvailable()) {
+			Uri uri = locator.createApiUri("search", "boards", data.boardName, "text", data.searchQuery,
+					"page", Integer.toString(data.pageNumber + 1));
+			HttpResponse response = new HttpRequest(uri, data).setSuccessOnly(false).perform();
+			// Empty search results are reported as 404 with an error object
+			if (response.getResponseCode() == HttpURLConnection.HTTP_NOT_FOUND || isJsonApiResponse(response)) {
+				try (InputStream input = response.open()) {
+					return new ReadSearchPostsResult(getJsonPostsParser().convertSearch(input));
+				} catch (ParseException e) {
+					markJsonApiUnavailable();
+				} catch (IOException e) {
+					throw response.fail(e);
+				}
+			}
+		}
 		Uri uri = locator.buildPath(data.boardName, "search", "text").buildUpon().appendPath(data.searchQuery)
 				.appendEncodedPath("page/" + (data.pageNumber + 1) + "/").build();
 		HttpResponse response = new HttpRequest(uri, data).perform();
@@ -100,6 +205,14 @@ public class FoolFuukaChanPerformer extends ChanPerformer {
 
 	protected PostsParser getPostsParser() { return new FoolFuukaPostsParser(this); }
 
+	protected PostsParser getJsonPostsParser() {
+		return new FoolFuukaJsonPostsParser(this);
+	}
+
+	protected boolean isJsonApiSupported() {
+		return false;
+	}
+
 	protected BoardsParser getBoardsParser() {
 		return new FoolFuukaBoardsParser();
 	}
@@ -0,0 +1,320 @@
+package chan.content;
+
+import android.net.Uri;
+import chan.content.model.FileAttachment;
+import chan.content.model.Post;
+import chan.content.model.Posts;
+import chan.content.model.PostsParser;
+import chan.text.JsonSerial;
+import chan.text.ParseException;
+import chan.util.StringUtils;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.TimeZone;
+
+public class FoolFuukaJsonPostsParser implements PostsParser {
+	// Asagi stores 4chan timestamps as America/New_York wall clock time
+	private static final TimeZone TIMEZONE_ARCHIVE = TimeZone.getTimeZone("America/New_York");
+
+	private final FoolFuukaChanLocator locator;
+
+	public FoolFuukaJsonPostsParser(Object linked) {
+		locator = FoolFuukaChanLocator.get(linked);
+	}
+
+	@Override
+	public ArrayList<Posts> convertThreads(InputStream input) throws IOException, ParseException {
+		ArrayList<Posts> threads = new ArrayList<>();
+		try (JsonSerial.Reader reader = JsonSerial.reader(input)) {
+			reader.startObject();
+			while (!reader.endStruct()) {
+				if ("error".equals(reader.nextName())) {
+					reader.skip();
+					continue;
+				}
+				ArrayList<Post> posts = new ArrayList<>();
+				int omittedPosts = 0;
+				int omittedFiles = 0;
+				reader.startObject();
+				while (!reader.endStruct()) {
+					switch (reader.nextName()) {
+						case "op": {
+							posts.add(0, createPost(reader));
+							break;
+						}
+						case "posts": {
+							reader.startArray();
+							while (!reader.endStruct()) {
+								posts.add(createPost(reader));
+							}
+							break;
+						}
+						case "omitted": {
+							omittedPosts = reader.nextInt();
+							break;
+						}
+						case "images_omitted": {
+							omittedFiles = reader.nextInt();
+							break;
+						}
+						default: {
+							reader.skip();
+							break;
+						}
+					}
+				}
+				if (!posts.isEmpty()) {
+					int postsWithFilesCount = 0;
+					for (Post post : posts) {
+						postsWithFilesCount += post.getAttachmentsCount();
+					}
+					threads.add(new Posts(posts).addPostsCount(posts.size() + omittedPosts)
+							.addPostsWithFilesCount(postsWithFilesCount + omittedFiles));
+				}
+			}
+		}
+		return threads;
+	}
+
+	@Override
+	public Posts convertPosts(InputStream input, Uri threadUri) throws IOException, ParseException {
+		ArrayList<Post> posts = new ArrayList<>();
+		try (JsonSerial.Reader reader = JsonSerial.reader(input)) {
+			reader.startObject();
+			while (!reader.endStruct()) {
+				if ("error".equals(reader.nextName())) {
+					reader.skip();
+					continue;
+				}
+				reader.startObject();
+				while (!reader.endStruct()) {
+					switch (reader.nextName()) {
+						case "op": {
+							posts.add(0, createPost(reader));
+							break;
+						}
+						case "posts": {
+							// Thread replies are keyed by post number
+							reader.startObject();
+							while (!reader.endStruct()) {
+								reader.nextName();
+								posts.add(createPost(reader));
+							}
+							break;
+						}
+						default: {
+							reader.skip();
+							break;
+						}
+					}
+				}
+			}
+		}
+		return posts.size() > 0 ? new Posts(posts).setArchivedThreadUri(threadUri) : null;
+	}
+
+	@Override
+	public ArrayList<Post> convertSearch(InputStream input) throws IOException, ParseException {
+		ArrayList<Post> posts = new ArrayList<>();
+		try (JsonSerial.Reader reader = JsonSerial.reader(input)) {
+			reader.startObject();
+			while (!reader.endStruct()) {
+				switch (reader.nextName()) {
+					case "0": {
+						reader.startObject();
+						while (!reader.endStruct()) {
+							if ("posts".equals(reader.nextName())) {
+								reader.startArray();
+								while (!reader.endStruct()) {
+									posts.add(createPost(reader));
+								}
+							} else {
+								reader.skip();
+							}
+						}
+						break;
+					}
+					default: {
+						// Skip "meta", or "error" when nothing is found
+						reader.skip();
+						break;
+					}
+				}
+			}
+		}
+		return posts;
+	}
+
+	private static boolean nextFlag(JsonSerial.Reader reader) throws IOException, ParseException {
+		// Asagi returns flags as "0" and "1" strings
+		String value = reader.nextString();
+		return value != null && !"false".equals(value) && !"0".equals(value);
+	}
+
+	private static int nextInt(JsonSerial.Reader reader) throws IOException, ParseException {
+		// Media sizes are returned as strings as well
+		String value = reader.nextString();
+		if (StringUtils.isEmpty(value)) {
+			return 0;
+		}
+		try {
+			return Integer.parseInt(value);
+		} catch (NumberFormatException e) {
+			return 0;
+		}
+	}
+
+	private Post createPost(JsonSerial.Reader reader) throws IOException, ParseException {
+		Post post = new Post();
+		String num = null;
+		String subnum = null;
+		String threadNum = null;
+		FileAttachment attachment = null;
+		reader.startObject();
+		while (!reader.endStruct()) {
+			switch (reader.nextName()) {
+				case "num": {
+					num = reader.nextString();
+					break;
+				}
+				case "subnum": {
+					subnum = reader.nextString();
+					break;
+				}
+				case "thread_num": {
+					threadNum = reader.nextString();
+					break;
+				}
+				case "timestamp": {
+					long timestamp = reader.nextLong() * 1000L;
+					post.setTimestamp(timestamp - TIMEZONE_ARCHIVE.getOffset(timestamp));
+					break;
+				}
+				case "name": {
+					post.setName(StringUtils.nullIfEmpty(StringUtils.clearHtml(reader.nextString()).trim()));
+					break;
+				}
+				case "trip": {
+					post.setTripcode(StringUtils.nullIfEmpty(reader.nextString()));
+					break;
+				}
+				case "email": {
+					String email = reader.nextString();
+					if ("sage".equalsIgnoreCase(email)) {
+						post.setSage(true);
+					} else {
+						post.setEmail(StringUtils.nullIfEmpty(email));
+					}
+					break;
+				}
+				case "poster_hash": {
+					post.setIdentifier(StringUtils.nullIfEmpty(reader.nextString()));
+					break;
+				}
+				case "title": {
+					post.setSubject(StringUtils.nullIfEmpty(StringUtils.clearHtml(reader.nextString()).trim()));
+					break;
+				}
+				case "comment_processed": {
+					String comment = reader.nextString();
+					post.setComment(comment != null ? comment.trim() : null);
+					break;
+				}
+				case "capcode": {
+					String capcode = reader.nextString();
+					if ("A".equals(capcode)) {
+						post.setCapcode("Admin");
+					} else if ("M".equals(capcode)) {
+						post.setCapcode("Mod");
+					} else if ("D".equals(capcode)) {
+						post.setCapcode("Developer");
+					}
+					break;
+				}
+				case "sticky": {
+					post.setSticky(nextFlag(reader));
+					break;
+				}
+				case "locked": {
+					post.setClosed(nextFlag(reader));
+					break;
+				}
+				case "media": {
+					attachment = createAttachment(reader);
+					break;
+				}
+				default: {
+					reader.skip();
+					break;
+				}
+			}
+		}
+		// Ghost posts are numbered like "num.subnum" in the HTML parser as well
+		post.setPostNumber(StringUtils.isEmpty(subnum) || "0".equals(subnum) ? num : num + "." + subnum);
+		if (threadNum != null && !threadNum.equals(num)) {
+			post.setParentPostNumber(threadNum);
+		}
+		if (attachment != null) {
+			post.setAttachments(attachment);
+		}
+		return post;
+	}
+
+	private FileAttachment createAttachment(JsonSerial.Reader reader) throws IOException, ParseException {
+		try {
+			reader.startObject();
+		} catch (ParseException e) {
+			// Media is null for posts without files
+			return null;
+		}
+		FileAttachment attachment = new FileAttachment();
+		String mediaLink = null;
+		String remoteMediaLink = null;
+		while (!reader.endStruct()) {
+			switch (reader.nextName()) {
+				case "media_link": {
+					mediaLink = reader.nextString();
+					break;
+				}
+				case "remote_media_link": {
+					remoteMediaLink = reader.nextString();
+					break;
+				}
+				case "thumb_link": {
+					String thumbLink = reader.nextString();
+					if (!StringUtils.isEmpty(thumbLink)) {
+						attachment.setThumbnailUri(locator, Uri.parse(thumbLink));
+					}
+					break;
+				}
+				case "media_filename": {
+					attachment.setOriginalName(StringUtils.nullIfEmpty(reader.nextString()));
+					break;
+				}
+				case "media_size": {
+					attachment.setSize(nextInt(reader));
+					break;
+				}
+				case "media_w": {
+					attachment.setWidth(nextInt(reader));
+					break;
+				}
+				case "media_h": {
+					attachment.setHeight(nextInt(reader));
+					break;
+				}
+				default: {
+					reader.skip();
+					break;
+				}
+			}
+		}
+		String fileLink = !StringUtils.isEmpty(mediaLink) ? mediaLink : remoteMediaLink;
+		if (StringUtils.isEmpty(fileLink)) {
+			return null;
+		}
+		attachment.setFileUri(locator, Uri.parse(fileLink));
+		return attachment;
+	}
+}
@@ -0,0 +1,128 @@
+package chan.content;
+
+import android.os.SystemClock;
+import chan.content.model.Post;
+import chan.content.model.Posts;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+// Maps reply numbers to thread numbers, so links to replies are redirected without asking the server.
+// Entries are kept per board in access order and stored as lines of "thread post post ...".
+// Changes are stored at most once per interval, unsaved entries are only a missed shortcut.
+public class FoolFuukaPostThreadMap {
+	private static final String KEY_POST_THREADS = "post_threads";
+	private static final int MAX_POSTS = 2000;
+	private static final int STORE_INTERVAL = 30 * 1000;
+
+	private static class BoardPostThreads {
+		public final LinkedHashMap<String, String> postThreads = new LinkedHashMap<>(16, 0.75f, true);
+		public boolean modified;
+		public long storeTime;
+	}
+
+	private final HashMap<String, BoardPostThreads> boards = new HashMap<>();
+
+	private BoardPostThreads obtainBoard(ChanConfiguration configuration, String boardName) {
+		BoardPostThreads board = boards.get(boardName);
+		if (board == null) {
+			board = new BoardPostThreads();
+			String data = configuration.get(boardName, KEY_POST_THREADS, null);
+			if (data != null) {
+				for (String line : data.split("\n")) {
+					String[] numbers = line.split(" ");
+					for (int i = 1; i < numbers.length; i++) {
+						board.postThreads.put(numbers[i], numbers[0]);
+					}
+				}
+			}
+			boards.put(boardName, board);
+		}
+		return board;
+	}
+
+	public synchronized String get(ChanConfiguration configuration, String boardName, String postNumber) {
+		BoardPostThreads board = obtainBoard(configuration, boardName);
+		String threadNumber = board.postThreads.get(postNumber);
+		storeIfNeeded(configuration, boardName, board);
+		return threadNumber;
+	}
+
+	public synchronized void put(ChanConfiguration configuration, String boardName, Collection<Posts> threads) {
+		if (threads != null) {
+			BoardPostThreads board = obtainBoard(configuration, boardName);
+			for (Posts thread : threads) {
+				put(board, thread);
+			}
+			storeIfNeeded(configuration, boardName, board);
+		}
+	}
+
+	public synchronized void put(ChanConfiguration configuration, String boardName, Posts thread) {
+		BoardPostThreads board = obtainBoard(configuration, boardName);
+		put(board, thread);
+		storeIfNeeded(configuration, boardName, board);
+	}
+
+	private static void put(BoardPostThreads board, Posts thread) {
+		Post[] posts = thread != null ? thread.getPosts() : null;
+		if (posts == null || posts.length < 2) {
+			return;
+		}
+		String threadNumber = posts[0].getPostNumber();
+		for (int i = 1; i < posts.length; i++) {
+			String postNumber = posts[i].getPostNumber();
+			if (postNumber != null && !threadNumber.equals(postNumber) &&
+					!Objects.equals(board.postThreads.put(postNumber, threadNumber), threadNumber)) {
+				board.modified = true;
+			}
+		}
+		Iterator<String> iterator = board.postThreads.keySet().iterator();
+		while (board.postThreads.size() > MAX_POSTS && iterator.hasNext()) {
+			iterator.next();
+			iterator.remove();
+		}
+	}
+
+	private static void storeIfNeeded(ChanConfiguration configuration, String boardName, BoardPostThreads board) {
+		long time = SystemClock.elapsedRealtime();
+		if (board.modified && (board.storeTime == 0L || time >= board.storeTime + STORE_INTERVAL)) {
+			configuration.set(boardName, KEY_POST_THREADS, serialize(board.postThreads));
+			board.modified = false;
+			board.storeTime = time;
+		}
+	}
+
+	private static String serialize(LinkedHashMap<String, String> postThreads) {
+		// Posts of the same thread are usually added together, so lines are formed from consecutive entries
+		StringBuilder builder = new StringBuilder();
+		String lastThreadNumber = null;
+		ArrayList<String> postNumbers = new ArrayList<>();
+		for (Map.Entry<String, String> entry : postThreads.entrySet()) {
+			if (!entry.getValue().equals(lastThreadNumber)) {
+				appendLine(builder, lastThreadNumber, postNumbers);
+				lastThreadNumber = entry.getValue();
+				postNumbers.clear();
+			}
+			postNumbers.add(entry.getKey());
+		}
+		appendLine(builder, lastThreadNumber, postNumbers);
+		return builder.toString();
+	}
+
+	private static void appendLine(StringBuilder builder, String threadNumber, ArrayList<String> postNumbers) {
+		if (threadNumber != null && !postNumbers.isEmpty()) {
+			if (builder.length() > 0) {
+				builder.append('\n');
+			}
+			builder.append(threadNumber);
+			for (String postNumber : postNumbers) {
+				builder.append(' ').append(postNumber);
+			}
+		}
+	}
+}
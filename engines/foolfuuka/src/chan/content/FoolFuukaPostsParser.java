@@ -11,9 +11,7 @@ import chan.util.StringUtils;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
-import java.text.SimpleDateFormat;
 import java.util.ArrayList;
-import java.util.Locale;
 import java.util.Objects;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -30,7 +28,7 @@ public class FoolFuukaPostsParser implements PostsParser {
 	private ArrayList<Posts> threads;
 	private final ArrayList<Post> posts = new ArrayList<>();
 
-	private static final SimpleDateFormat DATE_FORMAT = new SimpleDateFormat("yyyy-MM-dd'T'hh:mm:ssZZZZZ", Locale.US);
+	private static final TimestampParser TIMESTAMP_PARSER = TimestampParser.get("yyyy-MM-dd'T'HH:mm:ssZZZZZ", "UTC");
 	private static final Pattern PATTERN_FILE = Pattern.compile("(?:(.*), )?(\\d+)(\\w+), (\\d+)x(\\d+)(?:, (.*))?");
 
 	public FoolFuukaPostsParser(Object linked) {
@@ -112,8 +110,7 @@ public class FoolFuukaPostsParser implements PostsParser {
 			.name("time")
 			.open((instance, holder, tagName, attributes) -> {
 				try {
-					holder.post.setTimestamp(Objects.requireNonNull(DATE_FORMAT.parse(StringUtils
-							.emptyIfNull(attributes.get("datetime")))).getTime());
+					holder.post.setTimestamp(TIMESTAMP_PARSER.parse(attributes.get("datetime")));
 				} catch (java.text.ParseException e) {
 					// Ignore exception
 				}
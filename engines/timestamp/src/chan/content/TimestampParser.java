@@ -0,0 +1,290 @@
+package chan.content;
+
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.HashMap;
+import java.util.TimeZone;
+
+// Thread-safe replacement for shared SimpleDateFormat instances with fixed patterns.
+// Supported fields: y, M (numeric or text), d, H, h, m, s, S, E (skipped), Z and X, literals and quoted literals.
+// Hours are always read as 0-23, since none of the patterns have an AM/PM marker.
+public final class TimestampParser {
+	private static final HashMap<String, TimestampParser> PARSERS = new HashMap<>();
+
+	public static TimestampParser get(String pattern, String timeZone) {
+		return get(pattern, timeZone, null);
+	}
+
+	public static TimestampParser get(String pattern, String timeZone, String[] monthNames) {
+		StringBuilder key = new StringBuilder().append(pattern).append('\n').append(timeZone);
+		if (monthNames != null) {
+			for (String monthName : monthNames) {
+				key.append('\n').append(monthName);
+			}
+		}
+		synchronized (PARSERS) {
+			TimestampParser parser = PARSERS.get(key.toString());
+			if (parser == null) {
+				parser = new TimestampParser(pattern, TimeZone.getTimeZone(timeZone), monthNames);
+				PARSERS.put(key.toString(), parser);
+			}
+			return parser;
+		}
+	}
+
+	private static final char LITERAL = '\'';
+
+	private final char[] fields;
+	private final int[] counts;
+	private final String[] literals;
+	private final TimeZone timeZone;
+	private final String[] monthNames;
+	private final int twoDigitYearCentury;
+	private final int twoDigitYearLimit;
+
+	private TimestampParser(String pattern, TimeZone timeZone, String[] monthNames) {
+		ArrayList<Character> fields = new ArrayList<>();
+		ArrayList<Integer> counts = new ArrayList<>();
+		ArrayList<String> literals = new ArrayList<>();
+		int length = pattern.length();
+		int i = 0;
+		while (i < length) {
+			char c = pattern.charAt(i);
+			if (c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z') {
+				if ("yMdHhmsSEZX".indexOf(c) < 0) {
+					throw new IllegalArgumentException("Unsupported field: " + c);
+				}
+				int start = i;
+				while (i < length && pattern.charAt(i) == c) {
+					i++;
+				}
+				fields.add(c);
+				counts.add(i - start);
+				literals.add(null);
+			} else {
+				StringBuilder literal = new StringBuilder();
+				while (i < length) {
+					c = pattern.charAt(i);
+					if (c == '\'') {
+						if (i + 1 < length && pattern.charAt(i + 1) == '\'') {
+							literal.append('\'');
+							i += 2;
+						} else {
+							int end = pattern.indexOf('\'', i + 1);
+							if (end < 0) {
+								throw new IllegalArgumentException("Unterminated quote");
+							}
+							literal.append(pattern, i + 1, end);
+							i = end + 1;
+						}
+					} else if (c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z') {
+						break;
+					} else {
+						literal.append(c);
+						i++;
+					}
+				}
+				if (literal.length() > 0) {
+					fields.add(LITERAL);
+					counts.add(literal.length());
+					literals.add(literal.toString());
+				}
+			}
+		}
+		this.fields = new char[fields.size()];
+		this.counts = new int[fields.size()];
+		for (int j = 0; j < this.fields.length; j++) {
+			this.fields[j] = fields.get(j);
+			this.counts[j] = counts.get(j);
+			if (this.fields[j] == 'M' && this.counts[j] >= 3 && monthNames == null) {
+				throw new IllegalArgumentException("Month names are required");
+			}
+		}
+		this.literals = literals.toArray(new String[0]);
+		this.timeZone = timeZone;
+		this.monthNames = monthNames;
+		// Same window as SimpleDateFormat: 80 years before and 20 years after now
+		int year = Calendar.getInstance(timeZone).get(Calendar.YEAR);
+		twoDigitYearLimit = year + 20;
+		twoDigitYearCentury = twoDigitYearLimit / 100 * 100;
+	}
+
+	private static boolean isNumeric(char field, int count) {
+		return field != LITERAL && field != 'E' && field != 'Z' && field != 'X' && (field != 'M' || count < 3);
+	}
+
+	public long parse(String text) throws ParseException {
+		if (text == null) {
+			throw new ParseException("Text is null", 0);
+		}
+		int year = 1970;
+		int month = 1;
+		int day = 1;
+		int hour = 0;
+		int minute = 0;
+		int second = 0;
+		int millisecond = 0;
+		boolean hasOffset = false;
+		int offset = 0;
+		int length = text.length();
+		int index = 0;
+		for (int i = 0; i < fields.length; i++) {
+			char field = fields[i];
+			int count = counts[i];
+			if (field == LITERAL) {
+				if (!text.startsWith(literals[i], index)) {
+					throw new ParseException("Literal mismatch: " + text, index);
+				}
+				index += count;
+				continue;
+			}
+			if (field == 'E') {
+				int start = index;
+				while (index < length && Character.isLetter(text.charAt(index))) {
+					index++;
+				}
+				if (index == start) {
+					throw new ParseException("Day of week expected: " + text, index);
+				}
+				continue;
+			}
+			if (field == 'Z' || field == 'X') {
+				if (index < length && text.charAt(index) == 'Z') {
+					index++;
+					hasOffset = true;
+					offset = 0;
+					continue;
+				}
+				char sign = index < length ? text.charAt(index) : 0;
+				if (sign != '+' && sign != '-') {
+					throw new ParseException("Time zone expected: " + text, index);
+				}
+				index++;
+				int offsetHours = parseNumber(text, index, 2, 2);
+				index += 2;
+				if (index < length && text.charAt(index) == ':') {
+					index++;
+				}
+				int offsetMinutes = parseNumber(text, index, 2, 2);
+				index += 2;
+				hasOffset = true;
+				offset = (offsetHours * 60 + offsetMinutes) * 60000 * (sign == '-' ? -1 : 1);
+				continue;
+			}
+			if (field == 'M' && count >= 3) {
+				int match = -1;
+				int matchLength = 0;
+				for (int j = 0; j < monthNames.length; j++) {
+					String monthName = monthNames[j];
+					if (monthName.length() > matchLength &&
+							text.regionMatches(true, index, monthName, 0, monthName.length())) {
+						match = j;
+						matchLength = monthName.length();
+					}
+				}
+				if (match < 0) {
+					throw new ParseException("Month expected: " + text, index);
+				}
+				month = match + 1;
+				index += matchLength;
+				continue;
+			}
+			// Numeric field takes exactly count digits if followed by another numeric field
+			boolean fixed = i + 1 < fields.length && isNumeric(fields[i + 1], counts[i + 1]);
+			int maxDigits = fixed ? count : field == 'y' ? count <= 2 ? 2 : 4 : field == 'S' ? 3 : Math.max(2, count);
+			int minDigits = fixed ? count : 1;
+			int digitsEnd = index;
+			while (digitsEnd < length && digitsEnd - index < maxDigits && isDigit(text.charAt(digitsEnd))) {
+				digitsEnd++;
+			}
+			int digits = digitsEnd - index;
+			int value = parseNumber(text, index, minDigits, digits);
+			index = digitsEnd;
+			switch (field) {
+				case 'y': {
+					if (count <= 2 && digits <= 2) {
+						value += twoDigitYearCentury;
+						if (value > twoDigitYearLimit) {
+							value -= 100;
+						}
+					}
+					year = value;
+					break;
+				}
+				case 'M': {
+					month = value;
+					break;
+				}
+				case 'd': {
+					day = value;
+					break;
+				}
+				case 'H':
+				case 'h': {
+					hour = value;
+					break;
+				}
+				case 'm': {
+					minute = value;
+					break;
+				}
+				case 's': {
+					second = value;
+					break;
+				}
+				case 'S': {
+					// Fractional digits are read as milliseconds, same as "SSS"
+					millisecond = digits == 1 ? value * 100 : digits == 2 ? value * 10 : value;
+					break;
+				}
+			}
+		}
+		// Strict like a non-lenient SimpleDateFormat, out of range values are not rolled over
+		if (month < 1 || month > 12 || day < 1 || day > getDaysInMonth(year, month) ||
+				hour > 23 || minute > 59 || second > 59) {
+			throw new ParseException("Invalid date: " + text, 0);
+		}
+		long time = (((daysFromCivil(year, month, day) * 24 + hour) * 60 + minute) * 60 + second) * 1000
+				+ millisecond;
+		if (!hasOffset) {
+			offset = timeZone.getOffset(time - timeZone.getRawOffset());
+		}
+		return time - offset;
+	}
+
+	private static boolean isDigit(char c) {
+		return c >= '0' && c <= '9';
+	}
+
+	private static int parseNumber(String text, int index, int minDigits, int digits) throws ParseException {
+		if (digits < minDigits || index + digits > text.length()) {
+			throw new ParseException("Number expected: " + text, index);
+		}
+		int value = 0;
+		for (int i = index; i < index + digits; i++) {
+			char c = text.charAt(i);
+			if (!isDigit(c)) {
+				throw new ParseException("Number expected: " + text, i);
+			}
+			value = value * 10 + c - '0';
+		}
+		return value;
+	}
+
+	private static int getDaysInMonth(int year, int month) {
+		if (month == 2) {
+			return year % 4 == 0 && (year % 100 != 0 || year % 400 == 0) ? 29 : 28;
+		}
+		return month == 4 || month == 6 || month == 9 || month == 11 ? 30 : 31;
+	}
+
+	private static long daysFromCivil(int year, int month, int day) {
+		year -= month <= 2 ? 1 : 0;
+		long era = (year >= 0 ? year : year - 399) / 400;
+		long yearOfEra = year - era * 400;
+		long dayOfYear = (153 * (month + (month > 2 ? -3 : 9)) + 2) / 5 + day - 1;
+		long dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+		return era * 146097 + dayOfEra - 719468;
+	}
+}
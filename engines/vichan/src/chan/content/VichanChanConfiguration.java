@@ -6,6 +6,7 @@ public class VichanChanConfiguration extends ChanConfiguration {
 
     public VichanChanConfiguration() {
         setDefaultName("Anonymous");
+        request(OPTION_READ_THREAD_PARTIALLY);
     }
 
     @Override
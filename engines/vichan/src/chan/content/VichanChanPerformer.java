@@ -168,6 +168,8 @@ public class VichanChanPerformer extends ChanPerformer {
     public ReadPostsResult onReadPosts(ReadPostsData data) throws HttpException, InvalidResponseException {
         VichanChanLocator locator = ChanLocator.get(this);
         Uri uri = locator.createThreadUri(data.boardName, data.threadNumber);
+        // Thread json is always full, so known posts are only skipped while parsing
+        String lastPostNumber = data.partialThreadLoading ? data.lastPostNumber : null;
         ArrayList<Post> posts = new ArrayList<>();
         HttpResponse response = new HttpRequest(uri, data).setValidator(data.validator).perform();
         try (InputStream input = response.open();
@@ -179,8 +181,11 @@ public class VichanChanPerformer extends ChanPerformer {
                         VichanModelMapper.Extra extra = new VichanModelMapper.Extra();
                         reader.startArray();
                         while (!reader.endStruct()) {
-                            posts.add(VichanModelMapper.createPost(reader,
-                                    locator, data.boardName, extra));
+                            Post post = VichanModelMapper.createPost(reader,
+                                    locator, data.boardName, extra, lastPostNumber);
+                            if (post != null) {
+                                posts.add(post);
+                            }
                             if (extra != null) {
                                 extra = null;
                             }
@@ -193,6 +198,9 @@ public class VichanChanPerformer extends ChanPerformer {
                     }
                 }
             }
+            if (lastPostNumber != null) {
+                return new ReadPostsResult(new Posts(posts));
+            }
             return new ReadPostsResult(new Posts(posts)).setFullThread(true);
         } catch (ParseException e) {
             throw new InvalidResponseException(e);
@@ -61,6 +61,12 @@ public class VichanModelMapper {
 
     public static Post createPost(JsonSerial.Reader reader, VichanChanLocator locator, String boardName, Extra extra)
             throws IOException, ParseException {
+        return createPost(reader, locator, boardName, extra, null);
+    }
+
+    // Returns null for posts numbered up to lastPostNumber, the rest of such post object is skipped
+    public static Post createPost(JsonSerial.Reader reader, VichanChanLocator locator, String boardName, Extra extra,
+                                  String lastPostNumber) throws IOException, ParseException {
 
         Post post = new Post();
         //String country = null;
@@ -77,7 +83,15 @@ public class VichanModelMapper {
         while (!reader.endStruct()) {
             switch (reader.nextName()) {
                 case "no": {
-                    post.setPostNumber(reader.nextString());
+                    String postNumber = reader.nextString();
+                    if (lastPostNumber != null && Integer.parseInt(postNumber) <= Integer.parseInt(lastPostNumber)) {
+                        while (!reader.endStruct()) {
+                            reader.nextName();
+                            reader.skip();
+                        }
+                        return null;
+                    }
+                    post.setPostNumber(postNumber);
                     break;
                 }
                 case "resto": {
@@ -8,7 +8,6 @@ import chan.text.TemplateParser;
 import chan.util.StringUtils;
 import java.io.IOException;
 import java.io.InputStream;
-import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Locale;
 import java.util.Objects;
@@ -20,7 +19,7 @@ public abstract class WakabaPostsParser<ChanConfiguration extends WakabaChanConf
 		WakabaPostsParser<ChanConfiguration, ChanLocator, Holder>> {
 	private final TemplateParser<Holder> parser;
 
-	private final SimpleDateFormat dateFormat;
+	private final TimestampParser timestampParser;
 
 	protected final ChanConfiguration configuration;
 	protected final ChanLocator locator;
@@ -40,10 +39,10 @@ public abstract class WakabaPostsParser<ChanConfiguration extends WakabaChanConf
 	private static final Pattern NAME_EMAIL = Pattern.compile("<a href=\"(.*?)\">(.*)</a>");
 	private static final Pattern NUMBER = Pattern.compile("\\d+");
 
-	public WakabaPostsParser(TemplateParser<Holder> parser, SimpleDateFormat dateFormat,
+	public WakabaPostsParser(TemplateParser<Holder> parser, TimestampParser timestampParser,
 			Object linked, String boardName) {
 		this.parser = parser;
-		this.dateFormat = dateFormat;
+		this.timestampParser = timestampParser;
 		this.configuration = WakabaChanConfiguration.get(linked);
 		this.locator = WakabaChanLocator.get(linked);
 		this.boardName = boardName;
@@ -229,8 +228,7 @@ public abstract class WakabaPostsParser<ChanConfiguration extends WakabaChanConf
 						String text = source.toString().trim();
 						if (text.length() > 0) {
 							try {
-								holder.post.setTimestamp(Objects.requireNonNull(cast(holder)
-										.dateFormat.parse(text)).getTime());
+								holder.post.setTimestamp(cast(holder).timestampParser.parse(text));
 							} catch (java.text.ParseException e) {
 								// Ignore exception
 							}
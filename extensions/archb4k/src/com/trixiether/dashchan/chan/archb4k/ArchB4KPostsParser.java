@@ -5,14 +5,13 @@ import android.net.Uri;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
-import java.text.SimpleDateFormat;
 import java.util.ArrayList;
-import java.util.Locale;
 import java.util.Objects;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import chan.content.FoolFuukaChanLocator;
+import chan.content.TimestampParser;
 import chan.content.model.FileAttachment;
 import chan.content.model.Post;
 import chan.content.model.Posts;
@@ -34,7 +33,7 @@ public class ArchB4KPostsParser implements PostsParser {
     private ArrayList<Posts> threads;
     private final ArrayList<Post> posts = new ArrayList<>();
 
-    private static final SimpleDateFormat DATE_FORMAT = new SimpleDateFormat("yyyy-MM-dd'T'hh:mm:ssZZZZZ", Locale.US);
+    private static final TimestampParser TIMESTAMP_PARSER = TimestampParser.get("yyyy-MM-dd'T'HH:mm:ssZZZZZ", "UTC");
     private static final Pattern PATTERN_FILE = Pattern.compile("(?:(.*), )?(\\d+)(\\w+), (\\d+)x(\\d+)(?:, (.*))?");
 
     public ArchB4KPostsParser(Object linked) {
@@ -116,8 +115,7 @@ public class ArchB4KPostsParser implements PostsParser {
             .name("time")
             .open((instance, holder, tagName, attributes) -> {
                 try {
-                    holder.post.setTimestamp(Objects.requireNonNull(DATE_FORMAT.parse(StringUtils
-                            .emptyIfNull(attributes.get("datetime")))).getTime());
+                    holder.post.setTimestamp(TIMESTAMP_PARSER.parse(attributes.get("datetime")));
                 } catch (java.text.ParseException e) {
                     // Ignore exception
                 }
@@ -3,4 +3,8 @@ package com.trixiether.dashchan.chan.archivedmoe;
 import chan.content.FoolFuukaChanPerformer;
 
 public class ArchivedMoeChanPerformer extends FoolFuukaChanPerformer {
+    @Override
+    protected boolean isJsonApiSupported() {
+        return true;
+    }
 }
@@ -2,4 +2,9 @@ package com.mishiranu.dashchan.chan.archiverbt;
 
 import chan.content.FoolFuukaChanPerformer;
 
-public class ArchiveRbtChanPerformer extends FoolFuukaChanPerformer {}
+public class ArchiveRbtChanPerformer extends FoolFuukaChanPerformer {
+	@Override
+	protected boolean isJsonApiSupported() {
+		return true;
+	}
+}
@@ -1,29 +1,22 @@
 package com.mishiranu.dashchan.chan.bunbunmaru;
 
 import android.net.Uri;
+import chan.content.TimestampParser;
 import chan.content.WakabaPostsParser;
 import chan.text.ParseException;
 import chan.text.TemplateParser;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
-import java.text.SimpleDateFormat;
-import java.util.Locale;
-import java.util.TimeZone;
 
 public class BunbunmaruPostsParser extends WakabaPostsParser
 		<BunbunmaruChanConfiguration, BunbunmaruChanLocator, BunbunmaruPostsParser> {
 	private boolean reflinkParsing = false;
 
-	private static final SimpleDateFormat DATE_FORMAT;
-
-	static {
-		DATE_FORMAT = new SimpleDateFormat("yy/MM/dd(EEE)hh:mm", Locale.US);
-		DATE_FORMAT.setTimeZone(TimeZone.getTimeZone("GMT-8"));
-	}
+	private static final TimestampParser TIMESTAMP_PARSER = TimestampParser.get("yy/MM/dd(EEE)HH:mm", "GMT-8");
 
 	public BunbunmaruPostsParser(Object linked, String boardName) {
-		super(PARSER, DATE_FORMAT, linked, boardName);
+		super(PARSER, TIMESTAMP_PARSER, linked, boardName);
 		originalNameFromLink = true;
 	}
 
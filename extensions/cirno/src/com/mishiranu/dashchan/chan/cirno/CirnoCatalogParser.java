@@ -43,7 +43,7 @@ public class CirnoCatalogParser {
 					Post post = new Post();
 					post.setPostNumber(number);
 					try {
-						post.setTimestamp(Objects.requireNonNull(CirnoPostsParser.DATE_FORMAT.parse(date)).getTime());
+						post.setTimestamp(CirnoPostsParser.TIMESTAMP_PARSER.parse(date));
 					} catch (java.text.ParseException e) {
 						// Ignore exception
 					}
@@ -2,4 +2,9 @@ package com.mishiranu.dashchan.chan.desustorage;
 
 import chan.content.FoolFuukaChanPerformer;
 
-public class DesustorageChanPerformer extends FoolFuukaChanPerformer {}
+public class DesustorageChanPerformer extends FoolFuukaChanPerformer {
+	@Override
+	protected boolean isJsonApiSupported() {
+		return true;
+	}
+}
@@ -31,27 +31,15 @@ import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 public class DobrochanChanPerformer extends ChanPerformer {
-	private static final int DELAY = 1000;
 	private static final String COOKIE_HANABIRA = "hanabira";
 	private static final String COOKIE_HANABIRA_TEMP = "hanabira_temp";
 
-	private synchronized HttpResponse performRepeatable(HttpRequest request) throws HttpException {
+	private final DobrochanRequestExecutor requestExecutor = new DobrochanRequestExecutor();
+	private final DobrochanThreadIdCache threadIdCache = new DobrochanThreadIdCache();
+
+	private HttpResponse performRepeatable(HttpRequest request) throws HttpException {
 		request.addCookie(buildCookies());
-		HttpException exception = null;
-		for (int i = 0; i < 5; i++) {
-			try {
-				if (i == 1) {
-					request.setDelay(DELAY);
-				}
-				return request.perform();
-			} catch (HttpException e) {
-				exception = e;
-				if (!e.isHttpException() || e.getResponseCode() != HttpURLConnection.HTTP_UNAVAILABLE) {
-					break;
-				}
-			}
-		}
-		throw exception;
+		return requestExecutor.perform(request);
 	}
 
 	private CookieBuilder buildCookies(CaptchaData captchaData) {
@@ -94,7 +82,8 @@ public class DobrochanChanPerformer extends ChanPerformer {
 										case "threads": {
 											reader.startArray();
 											while (!reader.endStruct()) {
-												threads.add(DobrochanModelMapper.createThread(reader, locator));
+												threads.add(DobrochanModelMapper.createThread(reader, locator,
+														data.boardName, threadIdCache));
 											}
 											break;
 										}
@@ -165,6 +154,11 @@ public class DobrochanChanPerformer extends ChanPerformer {
 										reader.startObject();
 										while (!reader.endStruct()) {
 											switch (reader.nextName()) {
+												case "thread_id": {
+													threadIdCache.put(data.boardName, data.threadNumber,
+															reader.nextString());
+													break;
+												}
 												case "posts": {
 													posts = DobrochanModelMapper.createPosts(reader,
 															locator, data.threadNumber);
@@ -463,6 +457,10 @@ public class DobrochanChanPerformer extends ChanPerformer {
 	@SuppressWarnings("SwitchStatementWithTooFewBranches")
 	public String readThreadId(HttpRequest.Preset preset, String boardName, String threadNumber) throws HttpException,
 			InvalidResponseException {
+		String cachedThreadId = threadIdCache.get(boardName, threadNumber);
+		if (cachedThreadId != null) {
+			return cachedThreadId;
+		}
 		DobrochanChanLocator locator = ChanLocator.get(this);
 		Uri uri = locator.createApiUri("thread", boardName, threadNumber + "/last.json",
 				"count", "0", "new_format", "1");
@@ -502,6 +500,7 @@ public class DobrochanChanPerformer extends ChanPerformer {
 			if (threadId == null) {
 				throw new InvalidResponseException();
 			}
+			threadIdCache.put(boardName, threadNumber, threadId);
 			return threadId;
 		} catch (ParseException e) {
 			throw new InvalidResponseException(e);
@@ -1,6 +1,7 @@
 package com.mishiranu.dashchan.chan.dobrochan;
 
 import chan.content.ChanLocator;
+import chan.content.TimestampParser;
 import chan.content.model.FileAttachment;
 import chan.content.model.Post;
 import chan.content.model.Posts;
@@ -8,15 +9,14 @@ import chan.text.JsonSerial;
 import chan.text.ParseException;
 import chan.util.StringUtils;
 import java.io.IOException;
-import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
-import java.util.Locale;
-import java.util.Objects;
+import java.util.TimeZone;
 
 public class DobrochanModelMapper {
-	private static final SimpleDateFormat DATE_FORMAT = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss", Locale.US);
+	private static final TimestampParser TIMESTAMP_PARSER = TimestampParser.get("yyyy-MM-dd HH:mm:ss",
+			TimeZone.getDefault().getID());
 
 	public static class BoardConfiguration {
 		public Boolean filesEnabled;
@@ -170,7 +170,7 @@ public class DobrochanModelMapper {
 				case "date": {
 					String date = reader.nextString();
 					try {
-						post.setTimestamp(Objects.requireNonNull(DATE_FORMAT.parse(date)).getTime());
+						post.setTimestamp(TIMESTAMP_PARSER.parse(date));
 					} catch (java.text.ParseException e) {
 						// Ignore
 					}
@@ -238,8 +238,10 @@ public class DobrochanModelMapper {
 		return posts;
 	}
 
-	public static Posts createThread(JsonSerial.Reader reader, ChanLocator locator) throws IOException, ParseException {
+	public static Posts createThread(JsonSerial.Reader reader, ChanLocator locator, String boardName,
+			DobrochanThreadIdCache threadIdCache) throws IOException, ParseException {
 		String threadId = null;
+		String internalThreadId = null;
 		int postsCount = 0;
 		int filesCount = 0;
 		ArrayList<Post> posts = new ArrayList<>();
@@ -251,6 +253,10 @@ public class DobrochanModelMapper {
 					threadId = reader.nextString();
 					break;
 				}
+				case "thread_id": {
+					internalThreadId = reader.nextString();
+					break;
+				}
 				case "posts_count": {
 					postsCount = reader.nextInt();
 					break;
@@ -276,6 +282,7 @@ public class DobrochanModelMapper {
 		if (threadId == null) {
 			throw new ParseException(new Exception("Thread ID is null"));
 		}
+		threadIdCache.put(boardName, threadId, internalThreadId);
 		for (Post post : posts) {
 			if (!threadId.equals(post.getPostNumber())) {
 				post.setParentPostNumber(threadId);
@@ -0,0 +1,91 @@
+package com.mishiranu.dashchan.chan.dobrochan;
+
+import android.os.SystemClock;
+import android.util.Log;
+import chan.http.HttpException;
+import chan.http.HttpRequest;
+import chan.http.HttpResponse;
+import java.net.HttpURLConnection;
+import java.util.concurrent.Semaphore;
+
+public class DobrochanRequestExecutor {
+	private static final String TAG = "DobrochanRequests";
+
+	private static final int MAX_CONCURRENT = 4;
+	private static final int ATTEMPTS = 5;
+	private static final int BACK_OFF_DELAY = 1000;
+	private static final int METRICS_INTERVAL = 100;
+
+	private final Semaphore admission = new Semaphore(MAX_CONCURRENT, true);
+	private long backOffUntil;
+
+	private int requests;
+	private int retries;
+	private long queueWaitTime;
+	private long networkTime;
+
+	private synchronized int getBackOffDelay(long time) {
+		return (int) Math.max(0, backOffUntil - time);
+	}
+
+	// 503 from any request slows down all requests, not only the failed one
+	private synchronized void backOff(long time) {
+		backOffUntil = Math.max(backOffUntil, time + BACK_OFF_DELAY);
+	}
+
+	// Counted per logical request, retries of the same request are summed into it
+	private synchronized void addMetrics(int retries, long waitTime, long requestTime) {
+		requests++;
+		this.retries += retries;
+		queueWaitTime += waitTime;
+		networkTime += requestTime;
+		if (requests % METRICS_INTERVAL == 0) {
+			Log.d(TAG, "requests: " + requests + ", retries: " + this.retries
+					+ ", queue wait: " + queueWaitTime / requests + " ms avg"
+					+ ", network: " + networkTime / requests + " ms avg");
+		}
+	}
+
+	public HttpResponse perform(HttpRequest request) throws HttpException {
+		HttpException exception = null;
+		int retries = 0;
+		long waitTime = 0;
+		long requestTime = 0;
+		try {
+			for (int i = 0; i < ATTEMPTS; i++) {
+				if (i > 0) {
+					retries++;
+				}
+				// Back-off is waited out before admission, so sleeping requests don't hold permits
+				long queueTime = SystemClock.elapsedRealtime();
+				int delay;
+				while ((delay = getBackOffDelay(SystemClock.elapsedRealtime())) > 0) {
+					try {
+						Thread.sleep(delay);
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+						throw exception != null ? exception : new HttpException(0, null);
+					}
+				}
+				admission.acquireUninterruptibly();
+				long startTime = SystemClock.elapsedRealtime();
+				waitTime += startTime - queueTime;
+				try {
+					return request.perform();
+				} catch (HttpException e) {
+					exception = e;
+					if (!e.isHttpException() || e.getResponseCode() != HttpURLConnection.HTTP_UNAVAILABLE) {
+						break;
+					}
+					backOff(SystemClock.elapsedRealtime());
+				} finally {
+					admission.release();
+					requestTime += SystemClock.elapsedRealtime() - startTime;
+				}
+			}
+			throw exception;
+		} finally {
+			addMetrics(retries, waitTime, requestTime);
+		}
+	}
+}
@@ -0,0 +1,29 @@
+package com.mishiranu.dashchan.chan.dobrochan;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class DobrochanThreadIdCache {
+	private static final int MAX_SIZE = 500;
+
+	private final LinkedHashMap<String, String> threadIds = new LinkedHashMap<String, String>(16, 0.75f, true) {
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+			return size() > MAX_SIZE;
+		}
+	};
+
+	private static String getKey(String boardName, String threadNumber) {
+		return boardName + "/" + threadNumber;
+	}
+
+	public synchronized String get(String boardName, String threadNumber) {
+		return threadIds.get(getKey(boardName, threadNumber));
+	}
+
+	public synchronized void put(String boardName, String threadNumber, String threadId) {
+		if (boardName != null && threadNumber != null && threadId != null) {
+			threadIds.put(getKey(boardName, threadNumber), threadId);
+		}
+	}
+}
@@ -5,11 +5,9 @@ import android.net.Uri;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
-import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Locale;
 import java.util.Objects;
-import java.util.TimeZone;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -30,13 +28,6 @@ import chan.util.StringUtils;
 public class DollchanPostsParser {
 	private boolean reflinkParsing = false;
 
-	private static final SimpleDateFormat DATE_FORMAT;
-
-	static {
-		DATE_FORMAT = new SimpleDateFormat("dd.MM.yy EEE HH:mm:ss", Locale.UK);
-		DATE_FORMAT.setTimeZone(TimeZone.getTimeZone("GMT+3"));
-	}
-
 	protected final DollchanChanConfiguration configuration;
 	protected final DollchanChanLocator locator;
 	protected final String boardName;
@@ -0,0 +1,118 @@
+package com.mishiranu.dashchan.chan.dvach;
+
+import android.os.SystemClock;
+
+import chan.http.HttpValidator;
+import chan.text.JsonSerial;
+import chan.text.ParseException;
+import chan.util.StringUtils;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+public class DvachBoardsDirectory {
+	private static final int TTL = 10 * 60 * 1000;
+
+	public static class Entry {
+		public final String category;
+		public final String boardName;
+		public final String title;
+		public final String description;
+		public final String defaultName;
+		public final int bumpLimit;
+
+		public Entry(String category, String boardName, String title, String description,
+				String defaultName, int bumpLimit) {
+			this.category = category;
+			this.boardName = boardName;
+			this.title = title;
+			this.description = description;
+			this.defaultName = defaultName;
+			this.bumpLimit = bumpLimit;
+		}
+
+		public boolean hasSameConfiguration(Entry entry) {
+			return entry != null && Objects.equals(defaultName, entry.defaultName) && bumpLimit == entry.bumpLimit;
+		}
+	}
+
+	private List<Entry> entries;
+	private HttpValidator validator;
+	private long validUntil;
+
+	public synchronized List<Entry> getEntries(boolean freshOnly) {
+		if (freshOnly && SystemClock.elapsedRealtime() >= validUntil) {
+			return null;
+		}
+		return entries;
+	}
+
+	public synchronized HttpValidator getValidator() {
+		return entries != null ? validator : null;
+	}
+
+	public synchronized void revalidate() {
+		validUntil = SystemClock.elapsedRealtime() + TTL;
+	}
+
+	// Returns replaced entries, so configuration is compared against the same list that was replaced
+	public synchronized List<Entry> update(List<Entry> entries, HttpValidator validator) {
+		List<Entry> previousEntries = this.entries;
+		this.entries = Collections.unmodifiableList(entries);
+		this.validator = validator;
+		revalidate();
+		return previousEntries;
+	}
+
+	public static List<Entry> parse(JsonSerial.Reader reader) throws IOException, ParseException {
+		ArrayList<Entry> entries = new ArrayList<>();
+		reader.startArray();
+		while (!reader.endStruct()) {
+			String category = null;
+			String boardName = null;
+			String title = null;
+			String description = null;
+			String defaultName = null;
+			int bumpLimit = 0;
+			reader.startObject();
+			while (!reader.endStruct()) {
+				switch (reader.nextName()) {
+					case "category": {
+						category = reader.nextString();
+						break;
+					}
+					case "id": {
+						boardName = reader.nextString();
+						break;
+					}
+					case "name": {
+						title = reader.nextString();
+						break;
+					}
+					case "info": {
+						description = reader.nextString();
+						break;
+					}
+					case "default_name": {
+						defaultName = reader.nextString();
+						break;
+					}
+					case "bump_limit": {
+						bumpLimit = reader.nextInt();
+						break;
+					}
+					default: {
+						reader.skip();
+						break;
+					}
+				}
+			}
+			if (!StringUtils.isEmpty(category) && !StringUtils.isEmpty(boardName) && !StringUtils.isEmpty(title)) {
+				entries.add(new Entry(category, boardName, title, description, defaultName, bumpLimit));
+			}
+		}
+		return entries;
+	}
+}
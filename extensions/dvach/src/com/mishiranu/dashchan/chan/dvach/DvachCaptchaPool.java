@@ -0,0 +1,75 @@
+package com.mishiranu.dashchan.chan.dvach;
+
+import android.graphics.Bitmap;
+import android.os.SystemClock;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+
+public class DvachCaptchaPool {
+	// Keep a margin, so the user has time to solve captcha before it expires
+	private static final int MAX_AGE = (DvachChanConfiguration.CAPTCHA_TTL - 20) * 1000;
+	private static final int MAX_ENTRIES = 4;
+
+	public static class Entry {
+		public final String id;
+		public final Bitmap image;
+		public final String input;
+		private final long time;
+
+		public Entry(String id, Bitmap image, String input) {
+			this.id = id;
+			this.image = image;
+			this.input = input;
+			time = SystemClock.elapsedRealtime();
+		}
+
+		private boolean isFresh() {
+			return SystemClock.elapsedRealtime() - time < MAX_AGE;
+		}
+	}
+
+	private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>();
+
+	private static String getKey(String boardName, String threadNumber) {
+		return boardName + "/" + threadNumber;
+	}
+
+	public Entry take(String boardName, String threadNumber) {
+		Entry entry;
+		synchronized (entries) {
+			entry = entries.remove(getKey(boardName, threadNumber));
+		}
+		if (entry != null && !entry.isFresh()) {
+			entry.image.recycle();
+			entry = null;
+		}
+		return entry;
+	}
+
+	// Request presets are only valid while their request runs, so entries can't be loaded in background.
+	// Entries must be put by a request that loads the next captcha anyway.
+	public void put(String boardName, String threadNumber, Entry entry) {
+		String key = getKey(boardName, threadNumber);
+		ArrayList<Entry> removedEntries = new ArrayList<>();
+		synchronized (entries) {
+			Entry oldEntry = entries.remove(key);
+			if (oldEntry != null) {
+				removedEntries.add(oldEntry);
+			}
+			Iterator<Entry> iterator = entries.values().iterator();
+			while (iterator.hasNext()) {
+				Entry nextEntry = iterator.next();
+				if (!nextEntry.isFresh() || entries.size() >= MAX_ENTRIES) {
+					iterator.remove();
+					removedEntries.add(nextEntry);
+				}
+			}
+			entries.put(key, entry);
+		}
+		for (Entry removedEntry : removedEntries) {
+			removedEntry.image.recycle();
+		}
+	}
+}
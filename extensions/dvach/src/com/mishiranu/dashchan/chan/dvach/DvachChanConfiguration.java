@@ -7,8 +7,11 @@ import chan.content.ChanConfiguration;
 import chan.util.CommonUtils;
 import chan.util.StringUtils;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 
@@ -41,7 +44,7 @@ public class DvachChanConfiguration extends ChanConfiguration {
 	private static final String KEY_LIKES_ENABLED = "likes_enabled";
 
 	private static final String KEY_CAPTCHA_FULL_KEYBOARD = "captcha_full_keyboard";
-	private static final int CAPTCHA_TTL = 90;
+	public static final int CAPTCHA_TTL = 90;
 
 	public DvachChanConfiguration() {
 		request(OPTION_READ_THREAD_PARTIALLY);
@@ -92,33 +95,69 @@ public class DvachChanConfiguration extends ChanConfiguration {
 
 	@Override
 	public Posting obtainPostingConfiguration(String boardName, boolean newThread) {
+		BoardPosting boardPosting = obtainBoardPosting(boardName);
 		Posting posting = new Posting();
-		posting.allowName = get(boardName, KEY_NAMES_ENABLED, true);
-		posting.allowTripcode = get(boardName, KEY_TRIPCODES_ENABLED, true);
+		posting.allowName = boardPosting.allowName;
+		posting.allowTripcode = boardPosting.allowTripcode;
 		posting.allowEmail = true;
-		posting.allowSubject = get(boardName, KEY_SUBJECTS_ENABLED, true);
-		posting.optionSage = get(boardName, KEY_SAGE_ENABLED, true);
+		posting.allowSubject = boardPosting.allowSubject;
+		posting.optionSage = boardPosting.optionSage;
 		posting.optionOriginalPoster = true;
-		posting.maxCommentLength = get(boardName, KEY_MAX_COMMENT_LENGTH, 15000);
+		posting.maxCommentLength = boardPosting.maxCommentLength;
 		posting.maxCommentLengthEncoding = "UTF-8";
-		posting.attachmentCount = get(boardName, KEY_IMAGES_ENABLED, true)
+		posting.attachmentCount = boardPosting.imagesEnabled
 				? maxFilesCountEnabled ? Math.max(4, filesCount) : 4 : 0;
 		posting.attachmentMimeTypes.add("image/*");
 		posting.attachmentMimeTypes.add("video/webm");
 		posting.attachmentMimeTypes.add("video/mp4");
-		try {
-			JSONArray jsonArray = new JSONArray(get(boardName, KEY_ICONS, "[]"));
-			for (int i = 0; i < jsonArray.length(); i++) {
-				JSONObject jsonObject = jsonArray.getJSONObject(i);
-				String name = CommonUtils.getJsonString(jsonObject, "name");
-				int num = jsonObject.getInt("num");
-				posting.userIcons.add(new Pair<>(Integer.toString(num), name));
+		posting.userIcons.addAll(boardPosting.userIcons);
+		posting.hasCountryFlags = boardPosting.hasCountryFlags;
+		return posting;
+	}
+
+	private static class BoardPosting {
+		public boolean allowName;
+		public boolean allowTripcode;
+		public boolean allowSubject;
+		public boolean optionSage;
+		public int maxCommentLength;
+		public boolean imagesEnabled;
+		public boolean hasCountryFlags;
+		public final ArrayList<Pair<String, String>> userIcons = new ArrayList<>();
+	}
+
+	private final HashMap<String, BoardPosting> boardPostings = new HashMap<>();
+
+	// Board values only change in updateFromThreadsPostsJson, which drops the cached copy.
+	// Copy is built under the lock, so it can't be put back after it was dropped.
+	private BoardPosting obtainBoardPosting(String boardName) {
+		synchronized (boardPostings) {
+			BoardPosting boardPosting = boardPostings.get(boardName);
+			if (boardPosting != null) {
+				return boardPosting;
+			}
+			boardPosting = new BoardPosting();
+			boardPosting.allowName = get(boardName, KEY_NAMES_ENABLED, true);
+			boardPosting.allowTripcode = get(boardName, KEY_TRIPCODES_ENABLED, true);
+			boardPosting.allowSubject = get(boardName, KEY_SUBJECTS_ENABLED, true);
+			boardPosting.optionSage = get(boardName, KEY_SAGE_ENABLED, true);
+			boardPosting.maxCommentLength = get(boardName, KEY_MAX_COMMENT_LENGTH, 15000);
+			boardPosting.imagesEnabled = get(boardName, KEY_IMAGES_ENABLED, true);
+			boardPosting.hasCountryFlags = get(boardName, KEY_FLAGS_ENABLED, false);
+			try {
+				JSONArray jsonArray = new JSONArray(get(boardName, KEY_ICONS, "[]"));
+				for (int i = 0; i < jsonArray.length(); i++) {
+					JSONObject jsonObject = jsonArray.getJSONObject(i);
+					String name = CommonUtils.getJsonString(jsonObject, "name");
+					int num = jsonObject.getInt("num");
+					boardPosting.userIcons.add(new Pair<>(Integer.toString(num), name));
+				}
+			} catch (Exception e) {
+				// Ignore exception
 			}
-		} catch (Exception e) {
-			// Ignore exception
+			boardPostings.put(boardName, boardPosting);
+			return boardPosting;
 		}
-		posting.hasCountryFlags = get(boardName, KEY_FLAGS_ENABLED, false);
-		return posting;
 	}
 
 	@Override
@@ -156,16 +195,38 @@ public class DvachChanConfiguration extends ChanConfiguration {
 		return get(boardName, KEY_SAGE_ENABLED, true);
 	}
 
-	public void updateFromBoardsJson(String boardName, String defaultName, Integer bumpLimit) {
-		if (!StringUtils.isEmpty(defaultName)) {
-			storeDefaultName(boardName, defaultName);
+	public void updateFromBoardsJson(List<DvachBoardsDirectory.Entry> entries,
+			List<DvachBoardsDirectory.Entry> previousEntries) {
+		HashMap<String, DvachBoardsDirectory.Entry> previousMap = new HashMap<>();
+		if (previousEntries != null) {
+			for (DvachBoardsDirectory.Entry entry : previousEntries) {
+				previousMap.put(entry.boardName, entry);
+			}
 		}
-		if (bumpLimit != null && bumpLimit > 0) {
-			storeBumpLimit(boardName, bumpLimit);
+		// Only boards changed since the last directory update are written
+		for (DvachBoardsDirectory.Entry entry : entries) {
+			if (!entry.hasSameConfiguration(previousMap.get(entry.boardName))) {
+				if (!StringUtils.isEmpty(entry.defaultName)) {
+					storeDefaultName(entry.boardName, entry.defaultName);
+				}
+				if (entry.bumpLimit > 0) {
+					storeBumpLimit(entry.boardName, entry.bumpLimit);
+				}
+			}
 		}
 	}
 
 	public void updateFromThreadsPostsJson(String boardName, DvachModelMapper.BoardConfiguration configuration) {
+		String icons = "[]".equals(configuration.icons) ? null : configuration.icons;
+		boolean postingChanged = configuration.maxCommentLength > 0
+				&& configuration.maxCommentLength != get(boardName, KEY_MAX_COMMENT_LENGTH, 15000)
+				|| differs(boardName, KEY_IMAGES_ENABLED, configuration.imagesEnabled, true)
+				|| differs(boardName, KEY_NAMES_ENABLED, configuration.namesEnabled, true)
+				|| differs(boardName, KEY_TRIPCODES_ENABLED, configuration.tripcodesEnabled, true)
+				|| differs(boardName, KEY_SUBJECTS_ENABLED, configuration.subjectsEnabled, true)
+				|| differs(boardName, KEY_SAGE_ENABLED, configuration.sageEnabled, true)
+				|| differs(boardName, KEY_FLAGS_ENABLED, configuration.flagsEnabled, false)
+				|| !StringUtils.emptyIfNull(icons).equals(StringUtils.emptyIfNull(get(boardName, KEY_ICONS, "")));
 		String description = transformBoardDescription(configuration.description);
 		if (!StringUtils.isEmpty(configuration.title)) {
 			storeBoardTitle(boardName, configuration.title);
@@ -192,7 +253,16 @@ public class DvachChanConfiguration extends ChanConfiguration {
 		if (configuration.pagesCount > 0) {
 			storePagesCount(boardName, configuration.pagesCount);
 		}
-		set(boardName, KEY_ICONS, "[]".equals(configuration.icons) ? null : configuration.icons);
+		set(boardName, KEY_ICONS, icons);
+		if (postingChanged) {
+			synchronized (boardPostings) {
+				boardPostings.remove(boardName);
+			}
+		}
+	}
+
+	private boolean differs(String boardName, String key, Boolean value, boolean defaultValue) {
+		return value != null && value != get(boardName, key, defaultValue);
 	}
 
 	private void editBoards(String boardName, String key, Boolean value) {
@@ -31,14 +31,12 @@ import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Objects;
 import java.util.TimeZone;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
-import org.json.JSONArray;
 import org.json.JSONException;
 import org.json.JSONObject;
 
@@ -70,29 +68,10 @@ public class DvachChanPerformer extends ChanPerformer {
 		return buildCookies(DvachChanConfiguration.get(this).getCookie(COOKIE_PASSCODE_AUTH));
 	}
 
-	private static final int[] MOBILE_API_DELAYS = {0, 250, 500, 1000};
-	private final Object mobileApiLock = new Object();
+	private final DvachMobileApiScheduler mobileApiScheduler = new DvachMobileApiScheduler();
 
 	private HttpResponse readMobileApi(HttpRequest request) throws HttpException {
-		synchronized (mobileApiLock) {
-			HttpException lastException = null;
-			for (int delay : MOBILE_API_DELAYS) {
-				if (delay > 0) {
-					request.setDelay(delay);
-				}
-				try {
-					return request.perform();
-				} catch (HttpException e) {
-					if (e.isHttpException() && e.getResponseCode() == HttpURLConnection.HTTP_UNAVAILABLE) {
-						lastException = e;
-						// Retry in loop
-					} else {
-						throw e;
-					}
-				}
-			}
-			throw lastException;
-		}
+		return mobileApiScheduler.perform(request);
 	}
 
 	@Override
@@ -368,9 +347,19 @@ public class DvachChanPerformer extends ChanPerformer {
 	public ReadSinglePostResult onReadSinglePost(ReadSinglePostData data) throws HttpException,
 			InvalidResponseException {
 		DvachChanLocator locator = DvachChanLocator.get(this);
-		DvachChanConfiguration configuration = DvachChanConfiguration.get(this);
 		Uri uri = locator.createMobileApiV2Uri("post", data.boardName, data.postNumber);
 		HttpResponse response = readMobileApi(new HttpRequest(uri, data).addCookie(buildCookiesWithCaptchaPass()));
+		Post post = readMobileApiPost(response, data.boardName);
+		if (post == null) {
+			throw new InvalidResponseException();
+		}
+		return new ReadSinglePostResult(post);
+	}
+
+	@SuppressWarnings("SwitchStatementWithTooFewBranches")
+	private Post readMobileApiPost(HttpResponse response, String boardName) throws HttpException,
+			InvalidResponseException {
+		DvachChanConfiguration configuration = DvachChanConfiguration.get(this);
 		try (InputStream input = response.open();
 				JsonSerial.Reader reader = JsonSerial.reader(input)) {
 			Post post = null;
@@ -379,8 +368,8 @@ public class DvachChanPerformer extends ChanPerformer {
 			while (!reader.endStruct()) {
 				switch (reader.nextName()) {
 					case "post": {
-						post = DvachModelMapper.createPost(reader, this, data.boardName, null,
-								configuration.isSageEnabled(data.boardName), null);
+						post = DvachModelMapper.createPost(reader, this, boardName, null,
+								configuration.isSageEnabled(boardName), null);
 						break;
 					}
 					case "error": {
@@ -396,10 +385,7 @@ public class DvachChanPerformer extends ChanPerformer {
 					}
 				}
 			}
-			if (result == 0 || post == null) {
-				throw new InvalidResponseException();
-			}
-			return new ReadSinglePostResult(post);
+			return result != 0 ? post : null;
 		} catch (ParseException e) {
 			throw new InvalidResponseException(e);
 		} catch (IOException e) {
@@ -407,6 +393,31 @@ public class DvachChanPerformer extends ChanPerformer {
 		}
 	}
 
+	private List<Post> readPostsByNumbers(HttpRequest.Preset preset, String boardName,
+			List<String> postNumbers) throws HttpException, InvalidResponseException {
+		DvachChanLocator locator = DvachChanLocator.get(this);
+		ArrayList<Post> posts = new ArrayList<>(postNumbers.size());
+		for (String postNumber : postNumbers) {
+			Uri uri = locator.createMobileApiV2Uri("post", boardName, postNumber);
+			HttpRequest request = new HttpRequest(uri, preset).addCookie(buildCookiesWithCaptchaPass())
+					.setGetMethod().setRedirectHandler(HttpRequest.RedirectHandler.STRICT);
+			Post post;
+			try {
+				post = readMobileApiPost(readMobileApi(request), boardName);
+			} catch (HttpException e) {
+				if (e.getResponseCode() == HttpURLConnection.HTTP_NOT_FOUND) {
+					// Post was deleted after the search
+					continue;
+				}
+				throw e;
+			}
+			if (post != null) {
+				posts.add(post);
+			}
+		}
+		return posts;
+	}
+
 	private HttpException handleMobileApiV2Error(JsonSerial.Reader reader) throws IOException, ParseException {
 		int code = 0;
 		String error = "";
@@ -492,214 +503,85 @@ public class DvachChanPerformer extends ChanPerformer {
 					.setPostMethod(entity).setRedirectHandler(HttpRequest.RedirectHandler.STRICT).perform();
 
 			List<String> postsNumbers = DvachModelMapper.createPostsFromHtml(response.readString());
-			List<Post> posts = new ArrayList<>();
-
-			for (String number : postsNumbers) {
-
-				uri = locator.createMobileApiV2Uri("post", data.boardName, number);
-				response = new HttpRequest(uri, data).addCookie(buildCookiesWithCaptchaPass())
-						.setGetMethod().setRedirectHandler(HttpRequest.RedirectHandler.STRICT).perform();
+			List<Post> posts = readPostsByNumbers(data, data.boardName, postsNumbers);
+			return new ReadSearchPostsResult(posts);
+		}
+	}
 
-				try(InputStream input = response.open(); JsonSerial.Reader reader = JsonSerial.reader(input)) {
+	private static final String USER_BOARDS_CATEGORY = "Пользовательские";
 
-					reader.startObject();
-					while (!reader.endStruct()) {
-						switch (reader.nextName()) {
-							case "post": {
-								Post post = DvachModelMapper.createPost(reader, this, data.boardName, null,
-										configuration.isSageEnabled(data.boardName), null);
-								posts.add(post);
-								break;
-							}
-							default: {
-								reader.skip();
-								break;
-							}
-						}
-					}
-
-				} catch (ParseException e) {
-					throw new InvalidResponseException();
-				} catch (IOException e) {
-					throw response.fail(e);
-				}
+	private final DvachBoardsDirectory boardsDirectory = new DvachBoardsDirectory();
 
+	private List<DvachBoardsDirectory.Entry> readBoardsDirectory(HttpRequest.Preset preset) throws HttpException,
+			InvalidResponseException {
+		// Directory is not locked while loading, concurrent misses may load it twice
+		List<DvachBoardsDirectory.Entry> entries = boardsDirectory.getEntries(true);
+		if (entries != null) {
+			return entries;
+		}
+		DvachChanLocator locator = DvachChanLocator.get(this);
+		Uri uri = locator.buildPath("/api/mobile/v2/boards");
+		HttpResponse response = new HttpRequest(uri, preset).setGetMethod()
+				.addCookie(buildCookiesWithCaptchaPass()).setValidator(boardsDirectory.getValidator())
+				.setSuccessOnly(false).perform();
+		if (response.getResponseCode() == HttpURLConnection.HTTP_NOT_MODIFIED) {
+			entries = boardsDirectory.getEntries(false);
+			if (entries != null) {
+				boardsDirectory.revalidate();
+				return entries;
 			}
-
-			return new ReadSearchPostsResult(posts);
 		}
+		response.checkResponseCode();
+		try (InputStream input = response.open();
+				JsonSerial.Reader reader = JsonSerial.reader(input)) {
+			entries = DvachBoardsDirectory.parse(reader);
+		} catch (ParseException e) {
+			throw new InvalidResponseException(e);
+		} catch (IOException e) {
+			throw response.fail(e);
+		}
+		List<DvachBoardsDirectory.Entry> previousEntries = boardsDirectory.update(entries, response.getValidator());
+		DvachChanConfiguration configuration = DvachChanConfiguration.get(this);
+		configuration.updateFromBoardsJson(entries, previousEntries);
+		return entries;
 	}
 
-	@SuppressWarnings("SwitchStatementWithTooFewBranches")
 	@Override
 	public ReadBoardsResult onReadBoards(ReadBoardsData data) throws HttpException, InvalidResponseException {
-
 		DvachChanConfiguration configuration = DvachChanConfiguration.get(this);
-		DvachChanLocator locator = DvachChanLocator.get(this);
-		Uri uri = locator.buildPath("/api/mobile/v2/boards");
-
-		JSONArray jsonArray = null;
-		try {
-			String value = new HttpRequest(uri, data)
-					.setGetMethod()
-					.addCookie(buildCookiesWithCaptchaPass()).perform().readString();
-			jsonArray = new JSONArray(value);
-		} catch (HttpException e) {
-			throw new HttpException(e.getResponseCode(), e.getMessage());
-		} catch (JSONException e) {
-			throw new InvalidResponseException();
-		}
-
 		HashMap<String, ArrayList<Board>> boardsMap = new HashMap<>();
-
-		try {
-			for (int i = 0; i < jsonArray.length(); i++) {
-
-				JSONObject jsonObject = jsonArray.getJSONObject(i);
-
-				String category = null;
-				String boardName = null;
-				String title = null;
-				String description = null;
-				String defaultName = null;
-				Integer bumpLimit = null;
-
-				Iterator<String> keys = jsonObject.keys();
-
-				while (keys.hasNext()) {
-					switch (keys.next()) {
-						case "category": {
-							category = jsonObject.getString("category");
-							break;
-						}
-						case "id": {
-							boardName = jsonObject.getString("id");;
-							break;
-						}
-						case "name": {
-							title = jsonObject.getString("name");;
-							break;
-						}
-						case "info": {
-							description = jsonObject.getString("info");;
-							break;
-						}
-						case "default_name": {
-							defaultName = jsonObject.getString("default_name");;
-							break;
-						}
-						case "bump_limit": {
-							bumpLimit = Integer.getInteger(jsonObject.getString("bump_limit"));;
-							break;
-						}
-						default: {
-							break;
-						}
-					}
-				}
-
-				if (!StringUtils.isEmpty(category) && !StringUtils.isEmpty(boardName) &&
-						!StringUtils.isEmpty(title)) {
-					ArrayList<Board> boards = boardsMap.get(category);
-					if (boards == null) {
-						boards = new ArrayList<>();
-						boardsMap.put(category, boards);
-					}
-					description = configuration.transformBoardDescription(description);
-					boards.add(new Board(boardName, title, description));
-					configuration.updateFromBoardsJson(boardName, defaultName, bumpLimit);
-				}
-
+		for (DvachBoardsDirectory.Entry entry : readBoardsDirectory(data)) {
+			ArrayList<Board> boards = boardsMap.get(entry.category);
+			if (boards == null) {
+				boards = new ArrayList<>();
+				boardsMap.put(entry.category, boards);
 			}
-		} catch (JSONException e) {
-			throw new InvalidResponseException();
+			String description = configuration.transformBoardDescription(entry.description);
+			boards.add(new Board(entry.boardName, entry.title, description));
 		}
-
 		ArrayList<BoardCategory> boardCategories = new ArrayList<>();
 		for (String title : PREFERRED_BOARDS_ORDER) {
-			for (HashMap.Entry<String, ArrayList<Board>> entry : boardsMap.entrySet()) {
-				if (title.equals(entry.getKey())) {
-					ArrayList<Board> boards = entry.getValue();
-					Collections.sort(boards);
-					boardCategories.add(new BoardCategory(title, boards));
-					break;
-				}
+			ArrayList<Board> boards = boardsMap.get(title);
+			if (boards != null) {
+				Collections.sort(boards);
+				boardCategories.add(new BoardCategory(title, boards));
 			}
 		}
-
 		return new ReadBoardsResult(boardCategories);
-
 	}
 
-	@SuppressWarnings("SwitchStatementWithTooFewBranches")
 	@Override
 	public ReadUserBoardsResult onReadUserBoards(ReadUserBoardsData data) throws HttpException,
 			InvalidResponseException {
-
 		DvachChanConfiguration configuration = DvachChanConfiguration.get(this);
-		DvachChanLocator locator = DvachChanLocator.get(this);
-		Uri uri = locator.buildPath("/api/mobile/v2/boards");
-
-		JSONArray jsonArray = null;
-		try {
-			String value = new HttpRequest(uri, data)
-					.setGetMethod()
-					.addCookie(buildCookiesWithCaptchaPass()).perform().readString();
-			jsonArray = new JSONArray(value);
-		} catch (HttpException e) {
-			throw new HttpException(e.getResponseCode(), e.getMessage());
-		} catch (JSONException e) {
-			throw new InvalidResponseException();
-		}
-
 		ArrayList<Board> boards = new ArrayList<>();
-
-		try {
-			for (int i = 0; i < jsonArray.length(); i++) {
-
-				JSONObject jsonObject = jsonArray.getJSONObject(i);
-
-				String boardName = null;
-				String title = null;
-				String description = null;
-
-				Iterator<String> keys = jsonObject.keys();
-
-				while (keys.hasNext()) {
-					switch (keys.next()) {
-						case "id": {
-							boardName = jsonObject.getString("id");
-							;
-							break;
-						}
-						case "name": {
-							title = jsonObject.getString("name");
-							;
-							break;
-						}
-						case "info": {
-							description = jsonObject.getString("info");
-							;
-							break;
-						}
-						default: {
-							break;
-						}
-					}
-					if (jsonObject.getString("category").equals("Пользовательские")) {
-						if (!StringUtils.isEmpty(boardName) && !StringUtils.isEmpty(title)) {
-							description = configuration.transformBoardDescription(description);
-							boards.add(new Board(boardName, title, description));
-						}
-					}
-				}
+		for (DvachBoardsDirectory.Entry entry : readBoardsDirectory(data)) {
+			if (USER_BOARDS_CATEGORY.equals(entry.category)) {
+				String description = configuration.transformBoardDescription(entry.description);
+				boards.add(new Board(entry.boardName, entry.title, description));
 			}
-		} catch (JSONException e) {
-			throw new InvalidResponseException();
 		}
-
 		return new ReadUserBoardsResult(boards);
-
 	}
 
 	@SuppressWarnings("SwitchStatementWithTooFewBranches")
@@ -884,8 +766,65 @@ public class DvachChanPerformer extends ChanPerformer {
 
 	private static final String CAPTCHA_PASS_COOKIE = "captchaPassCookie";
 
+	private final DvachCaptchaPool captchaPool = new DvachCaptchaPool();
+
+	private Bitmap readCaptchaImage(HttpRequest.Preset preset, Uri uri) throws HttpException {
+		int loadCaptchaImageAttempts = 3;
+		while (true) {
+			try {
+				return new HttpRequest(uri, preset).perform().readBitmap();
+			} catch (HttpException e) {
+				loadCaptchaImageAttempts--;
+				if(loadCaptchaImageAttempts == 0 || e.getResponseCode() != HttpURLConnection.HTTP_INTERNAL_ERROR){
+					throw e;
+				}
+				try {
+					int delayBetweenLoadCaptchaImageAttemptsMillis = 500;
+					Thread.sleep(delayBetweenLoadCaptchaImageAttemptsMillis);
+				} catch (InterruptedException ex) {
+					throw e;
+				}
+			}
+		}
+	}
+
+	private void setCaptchaInput(ReadCaptchaResult result, String input) {
+		DvachChanConfiguration configuration = DvachChanConfiguration.get(this);
+		if (configuration.isFullKeyboardForCaptchaEnabled()) {
+			result.setInput(DvachChanConfiguration.Captcha.Input.ALL);
+		} else {
+			switch (input) {
+				case "numeric": {
+					result.setInput(DvachChanConfiguration.Captcha.Input.NUMERIC);
+					break;
+				}
+				case "english": {
+					result.setInput(DvachChanConfiguration.Captcha.Input.LATIN);
+					break;
+				}
+				default: {
+					result.setInput(DvachChanConfiguration.Captcha.Input.ALL);
+					break;
+				}
+			}
+		}
+	}
+
 	@Override
 	public ReadCaptchaResult onReadCaptcha(ReadCaptchaData data) throws HttpException, InvalidResponseException {
+		// Prefetched captcha was issued while captcha was enabled, so settings are not checked again
+		if (data.captchaPass == null && DvachChanConfiguration.CAPTCHA_TYPE_2CH_CAPTCHA.equals(data.captchaType)) {
+			DvachCaptchaPool.Entry entry = captchaPool.take(data.boardName, data.threadNumber);
+			if (entry != null) {
+				DvachChanConfiguration.get(this).setMaxFilesCountEnabled(false);
+				CaptchaData captchaData = new CaptchaData();
+				captchaData.put(CaptchaData.CHALLENGE, entry.id);
+				ReadCaptchaResult result = new ReadCaptchaResult(CaptchaState.CAPTCHA, captchaData)
+						.setImage(entry.image);
+				setCaptchaInput(result, entry.input);
+				return result;
+			}
+		}
 		DvachChanLocator locator = DvachChanLocator.get(this);
 		Uri uri = locator.buildPath("api", "captcha", "settings", data.boardName);
 		JSONObject jsonObject;
@@ -973,48 +912,13 @@ public class DvachChanPerformer extends ChanPerformer {
 					captchaData.put(CaptchaData.CHALLENGE, id);
 					uri = locator.buildPath("api", "captcha", remoteCaptchaType, "show").buildUpon()
 							.appendQueryParameter("id", id).build();
-					Bitmap captchaImage;
-					int loadCaptchaImageAttempts = 3;
-					while (true) {
-						try {
-							captchaImage = new HttpRequest(uri, data).perform().readBitmap();
-							break;
-						} catch (HttpException e) {
-							loadCaptchaImageAttempts--;
-							if(loadCaptchaImageAttempts == 0 || e.getResponseCode() != HttpURLConnection.HTTP_INTERNAL_ERROR){
-								throw e;
-							}
-							try {
-								int delayBetweenLoadCaptchaImageAttemptsMillis = 500;
-								Thread.sleep(delayBetweenLoadCaptchaImageAttemptsMillis);
-							} catch (InterruptedException ex) {
-								throw e;
-							}
-						}
-					}
+					Bitmap captchaImage = readCaptchaImage(data, uri);
 					if (captchaImage == null) {
 						throw new InvalidResponseException();
 					}
 					result.setImage(captchaImage);
 
-					if (configuration.isFullKeyboardForCaptchaEnabled()) {
-						result.setInput(DvachChanConfiguration.Captcha.Input.ALL);
-					} else {
-						switch (jsonObject.optString("input")) {
-							case "numeric": {
-								result.setInput(DvachChanConfiguration.Captcha.Input.NUMERIC);
-								break;
-							}
-							case "english": {
-								result.setInput(DvachChanConfiguration.Captcha.Input.LATIN);
-								break;
-							}
-							default: {
-								result.setInput(DvachChanConfiguration.Captcha.Input.ALL);
-								break;
-							}
-						}
-					}
+					setCaptchaInput(result, jsonObject.optString("input"));
 
 				} else if (DvachChanConfiguration.CAPTCHA_TYPE_2CH_EMOJI_CAPTCHA.equals(data.captchaType)) {
                     if (data.mayShowLoadButton) {
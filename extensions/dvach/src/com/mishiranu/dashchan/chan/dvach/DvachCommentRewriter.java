@@ -0,0 +1,282 @@
+package com.mishiranu.dashchan.chan.dvach;
+
+import android.net.Uri;
+
+import chan.util.StringUtils;
+
+public class DvachCommentRewriter {
+	private static final String LINK_SUFFIX_OP = " (OP)</a>";
+	private static final String LINK_SUFFIX_ARROW = " \u2192</a>";
+	private static final String ENTITY_SLASH = "&#47;";
+	private static final String HASHLINK_CLASS = "class=\"hashlink\"";
+	private static final String HASHLINK_TITLE = "title=\"";
+	private static final String CODE_OPEN = "[code";
+	private static final String CODE_CLOSE = "[/code]";
+
+	private final String comment;
+	private final DvachChanLocator locator;
+	private final String boardName;
+	private final StringBuilder builder;
+
+	private int codeEnd = -1;
+	private int codeSkip = -1;
+
+	private DvachCommentRewriter(String comment, DvachChanLocator locator, String boardName) {
+		this.comment = comment;
+		this.locator = locator;
+		this.boardName = boardName;
+		builder = new StringBuilder(comment.length() + 16);
+	}
+
+	// Removes reply link suffixes, decodes slashes, turns hashlinks into catalog search links
+	// and wraps /pr/ code blocks with fakecode tags in a single pass
+	public static String rewrite(String comment, DvachChanLocator locator, String boardName) {
+		if (StringUtils.isEmpty(comment)) {
+			return comment;
+		}
+		boolean handleCode = "pr".equals(boardName) && comment.contains(CODE_OPEN);
+		return new DvachCommentRewriter(comment, locator, boardName).rewrite(handleCode);
+	}
+
+	private String rewrite(boolean handleCode) {
+		String comment = this.comment;
+		int length = comment.length();
+		int copyFrom = 0;
+		int i = 0;
+		while (i < length) {
+			if (i == codeEnd) {
+				builder.append(comment, copyFrom, i).append("</fakecode>");
+				i = codeSkip;
+				copyFrom = i;
+				codeEnd = -1;
+				continue;
+			}
+			char c = comment.charAt(i);
+			int next = -1;
+			if (c == ' ') {
+				if (comment.startsWith(LINK_SUFFIX_OP, i)) {
+					builder.append(comment, copyFrom, i).append("</a>");
+					next = i + LINK_SUFFIX_OP.length();
+				} else if (comment.startsWith(LINK_SUFFIX_ARROW, i)) {
+					builder.append(comment, copyFrom, i).append("</a>");
+					next = i + LINK_SUFFIX_ARROW.length();
+				}
+			} else if (c == '&') {
+				if (comment.startsWith(ENTITY_SLASH, i)) {
+					builder.append(comment, copyFrom, i).append('/');
+					next = i + ENTITY_SLASH.length();
+				}
+			} else if (c == '<') {
+				if (comment.startsWith("<a ", i)) {
+					next = appendHashlink(copyFrom, i);
+				}
+			} else if (c == '[') {
+				if (handleCode && codeEnd < 0 && comment.regionMatches(true, i, CODE_OPEN, 0, CODE_OPEN.length())) {
+					next = appendCodeStart(copyFrom, i);
+				}
+			}
+			if (next >= 0) {
+				i = next;
+				copyFrom = next;
+			} else {
+				i++;
+			}
+		}
+		if (copyFrom == 0) {
+			return comment;
+		}
+		builder.append(comment, copyFrom, length);
+		return builder.toString();
+	}
+
+	private int appendHashlink(int copyFrom, int start) {
+		String comment = this.comment;
+		int end = start + 3;
+		int length = comment.length();
+		while (end < length) {
+			char c = comment.charAt(end);
+			if (c == '>') {
+				break;
+			} else if (c == '<') {
+				return -1;
+			}
+			end++;
+		}
+		if (end >= length) {
+			return -1;
+		}
+		int classIndex = comment.indexOf(HASHLINK_CLASS, start);
+		if (classIndex < 0 || classIndex + HASHLINK_CLASS.length() > end) {
+			return -1;
+		}
+		int titleStart = comment.indexOf(HASHLINK_TITLE, start);
+		int titleEnd = titleStart >= 0 && titleStart < end
+				? comment.indexOf('"', titleStart + HASHLINK_TITLE.length()) : -1;
+		if (titleEnd < 0 || titleEnd >= end) {
+			return -1;
+		}
+		String title = comment.substring(titleStart + HASHLINK_TITLE.length(), titleEnd);
+		if (title.contains(ENTITY_SLASH)) {
+			title = title.replace(ENTITY_SLASH, "/");
+		}
+		Uri uri = locator.createCatalogSearchUri(boardName, title);
+		builder.append(comment, copyFrom, start).append("<a href=\"");
+		String encodedUri = uri.toString();
+		for (int i = 0; i < encodedUri.length(); i++) {
+			char c = encodedUri.charAt(i);
+			if (c == '&') {
+				builder.append("&amp;");
+			} else if (c == '"') {
+				builder.append("&quot;");
+			} else {
+				builder.append(c);
+			}
+		}
+		builder.append("\">");
+		return end + 1;
+	}
+
+	private int appendCodeStart(int copyFrom, int start) {
+		String comment = this.comment;
+		int length = comment.length();
+		int index = start + CODE_OPEN.length();
+		if (index < length && isSpace(comment.charAt(index))) {
+			while (index < length && isSpace(comment.charAt(index))) {
+				index++;
+			}
+			if (!comment.startsWith("lang=", index)) {
+				return -1;
+			}
+			int langStart = index + 5;
+			index = langStart < length ? comment.indexOf(']', langStart + 1) : -1;
+			if (index < 0) {
+				return -1;
+			}
+			for (int i = langStart; i < index; i++) {
+				if (isLineTerminator(comment.charAt(i))) {
+					return -1;
+				}
+			}
+		}
+		if (index >= length || comment.charAt(index) != ']') {
+			return -1;
+		}
+		// Leading line breaks are skipped greedily, but given back if the code would be empty otherwise
+		int breaksStart = index + 1;
+		int contentStart = skipBreaks(breaksStart);
+		while (true) {
+			int contentEnd = findCodeEnd(contentStart);
+			if (contentEnd >= 0) {
+				builder.append(comment, copyFrom, start).append("<fakecode>");
+				codeEnd = contentEnd;
+				codeSkip = skipBreaks(contentEnd) + CODE_CLOSE.length();
+				return contentStart;
+			}
+			if (contentStart == breaksStart) {
+				return -1;
+			}
+			int previousStart = breaksStart;
+			for (int i = breaksStart; i < contentStart; i = skipBreak(i)) {
+				previousStart = i;
+			}
+			contentStart = previousStart;
+		}
+	}
+
+	private int findCodeEnd(int contentStart) {
+		String comment = this.comment;
+		int length = comment.length();
+		for (int i = contentStart; i < length; i++) {
+			if (isLineTerminator(comment.charAt(i))) {
+				return -1;
+			}
+			int closeIndex = skipBreaks(i + 1);
+			if (comment.regionMatches(true, closeIndex, CODE_CLOSE, 0, CODE_CLOSE.length())) {
+				return i + 1;
+			}
+		}
+		return -1;
+	}
+
+	private int skipBreaks(int index) {
+		int next;
+		while ((next = skipBreak(index)) != index) {
+			index = next;
+		}
+		return index;
+	}
+
+	private int skipBreak(int index) {
+		String comment = this.comment;
+		if (!comment.startsWith("<br", index)) {
+			return index;
+		}
+		int i = index + 3;
+		if (comment.startsWith(" ", i)) {
+			i++;
+		}
+		if (comment.startsWith("/", i)) {
+			i++;
+		}
+		return comment.startsWith(">", i) ? i + 1 : index;
+	}
+
+	// Matches regular expression "\s"
+	private static boolean isSpace(char c) {
+		return c == ' ' || c == '\t' || c == '\n' || c == '\u000b' || c == '\f' || c == '\r';
+	}
+
+	// Matches characters not matched by regular expression "."
+	private static boolean isLineTerminator(char c) {
+		return c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029';
+	}
+
+	// Same as clearHtml(comment) without whitespace starting with subject without whitespace,
+	// but only a prefix of the comment long enough to contain the subject is cleared
+	public static boolean startsWithSubject(String comment, String subject) {
+		int subjectLength = 0;
+		for (int i = 0; i < subject.length(); i++) {
+			if (!isSpace(subject.charAt(i))) {
+				subjectLength++;
+			}
+		}
+		if (comment == null) {
+			comment = "";
+		}
+		int prefixLength = Math.max(subjectLength, 64);
+		while (true) {
+			// Cut at tag start, so neither tags nor entities are split
+			int end = prefixLength >= comment.length() ? -1 : comment.indexOf('<', prefixLength);
+			String clearComment = StringUtils.clearHtml(end >= 0 ? comment.substring(0, end) : comment);
+			int visibleLength = 0;
+			for (int i = 0; i < clearComment.length(); i++) {
+				if (!isSpace(clearComment.charAt(i))) {
+					visibleLength++;
+				}
+			}
+			if (end < 0 || visibleLength >= subjectLength) {
+				return startsWithIgnoreWhitespace(clearComment, subject);
+			}
+			prefixLength = end + prefixLength;
+		}
+	}
+
+	private static boolean startsWithIgnoreWhitespace(String text, String prefix) {
+		int textIndex = 0;
+		int textLength = text.length();
+		for (int i = 0; i < prefix.length(); i++) {
+			char c = prefix.charAt(i);
+			if (isSpace(c)) {
+				continue;
+			}
+			while (textIndex < textLength && isSpace(text.charAt(textIndex))) {
+				textIndex++;
+			}
+			if (textIndex >= textLength || text.charAt(textIndex) != c) {
+				return false;
+			}
+			textIndex++;
+		}
+		return true;
+	}
+}
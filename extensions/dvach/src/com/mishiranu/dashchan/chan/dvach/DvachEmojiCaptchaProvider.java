@@ -13,7 +13,15 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.net.HttpURLConnection;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import chan.content.ChanPerformer;
 import chan.http.HttpException;
@@ -38,6 +46,10 @@ class DvachEmojiCaptchaProvider {
 
     private final DvachEmojiCaptchaAnswerRetriever answerRetriever;
 
+    private static final int DECODE_THREADS = 4;
+
+    private final Keyboard keyboard = new Keyboard();
+
     /**
      * Main constructor. For each captcha task we creating new instance of this class.
      * @param data - input info about captcha
@@ -71,43 +83,39 @@ class DvachEmojiCaptchaProvider {
         //prepare selected emojis state
         SelectedEmojis selected = new SelectedEmojis();
 
-        return solveEmojiCaptchaLoop(parsedResponse, selected);
+        ExecutorService decodeExecutor = Executors.newFixedThreadPool(DECODE_THREADS);
+        try {
+            return solveEmojiCaptchaLoop(parsedResponse, selected, decodeExecutor);
+        } finally {
+            decodeExecutor.shutdownNow();
+        }
     }
 
     /**
      * Captcha solving loop method. After each user input, we sent it to the server and getting a
      * new keyboard, until {@link EmojiCaptchaResponse.Success} is received.
-     * @param parsedResponse current server response
+     * @param parsedResponse initial server response
      * @param selected current user selected emojis
-     * @return captcha answer (probably from recursive method call)
+     * @param decodeExecutor executor for parallel keyboard icons decoding
+     * @return captcha answer
      * @throws HttpException
      */
     private ChanPerformer.ReadCaptchaResult solveEmojiCaptchaLoop(
             EmojiCaptchaResponse parsedResponse,
-            SelectedEmojis selected
+            SelectedEmojis selected,
+            ExecutorService decodeExecutor
     ) throws HttpException {
-        // If we received new captcha content, then we show it to user, so that he chooses emoji from keyboard
-        if (parsedResponse instanceof EmojiCaptchaResponse.Content) {
+        // While we receive new captcha content, we show it to user, so that he chooses emoji from keyboard
+        while (parsedResponse instanceof EmojiCaptchaResponse.Content) {
             EmojiCaptchaResponse.Content content = (EmojiCaptchaResponse.Content) parsedResponse;
 
             // prepare captcha task image with previously selected emojis
             Bitmap captchaImage = base64ToBitmap(content.image);
             Bitmap comboBitmap = createTaskWithSelectedBitmap(captchaImage, selected);
+            captchaImage.recycle();
 
-            // prepare captcha task keyboard array
-            Bitmap[] keyboardImages = new Bitmap[content.keyboard.size()];
-            for (int i = 0; i < content.keyboard.size(); i++) {
-                Bitmap origKeyIcon = base64ToBitmap(content.keyboard.get(i));
-                int maxSize = Math.max(origKeyIcon.getHeight(), origKeyIcon.getWidth());
-                Bitmap keyBitmap = Bitmap.createBitmap(maxSize, maxSize, Bitmap.Config.ARGB_8888);
-                Canvas keyCanvas = new Canvas(keyBitmap);
-                // set key background to white so the black icon would not overlap with dark theme
-                keyCanvas.drawARGB(255, 255, 255, 255);
-                int x = Math.max((origKeyIcon.getHeight() - origKeyIcon.getWidth()) / 2, 0);
-                int y = Math.max((origKeyIcon.getWidth() - origKeyIcon.getHeight()) / 2, 0);
-                keyCanvas.drawBitmap(origKeyIcon, x, y, null);
-                keyboardImages[i] = keyBitmap;
-            }
+            // prepare captcha task keyboard array, icons repeat between rounds
+            Bitmap[] keyboardImages = keyboard.obtainKeys(content.keyboard, decodeExecutor);
 
             // send task image and keyboard, receive user input
             Integer answer = answerRetriever.getAnswer(comboBitmap, keyboardImages);
@@ -115,47 +123,43 @@ class DvachEmojiCaptchaProvider {
             // if user skipped answer, or made improper input, then we stopping captcha solving
             if (answer == null || answer == -1 || answer >= keyboardImages.length) {
                 return new ChanPerformer.ReadCaptchaResult(ChanPerformer.CaptchaState.NEED_LOAD, null);
-            } else {
-                // if user made a valid selection, we process it
-                // add selected emoji to list of selected
-                Bitmap selectedBitmap = keyboardImages[answer];
-                selected.bitmaps.add(Bitmap.createScaledBitmap(selectedBitmap,
-                        selectedBitmap.getWidth() * SelectedEmojis.SIZE / selectedBitmap.getHeight(),
-                        SelectedEmojis.SIZE, true));
-
-                // send user selection to server
-                try {
-                    Uri uri = locator.buildPath("api", "captcha", "emoji", "click")
-                            .buildUpon().build();
-                    SimpleEntity entity = new SimpleEntity();
-                    entity.setContentType("application/json; charset=utf-8");
-                    JSONObject jsonObject = new JSONObject();
-                    jsonObject.put("captchaTokenId", captchaId);
-                    jsonObject.put("emojiNumber", answer);
-                    entity.setData(jsonObject.toString());
-                    HttpResponse response = new HttpRequest(uri, data)
-                            .setPostMethod(entity).perform();
-
-                    // server returns new response (this is either new state or finish signal)
-                    EmojiCaptchaResponse parsedClickResponse = parseEmojiCaptcha(response);
-
-                    //continue the loop
-                    return solveEmojiCaptchaLoop(parsedClickResponse, selected);
-                } catch (JSONException ex) {
-                    // if something goes wrong, just drop the captcha solving process
-                    return new ChanPerformer.ReadCaptchaResult(ChanPerformer.CaptchaState.NEED_LOAD, null);
-                }
             }
-        } else {
-            // If we got "success" field in server response then we finish the process, and fill
-            // the result
-            EmojiCaptchaResponse.Success success = (EmojiCaptchaResponse.Success) parsedResponse;
-            ChanPerformer.CaptchaData captchaData = new ChanPerformer.CaptchaData();
-            ChanPerformer.ReadCaptchaResult result = new ChanPerformer.ReadCaptchaResult(ChanPerformer.CaptchaState.SKIP, captchaData);
-            // Fill the challenge field with result, to use it later when we send post
-            captchaData.put(ChanPerformer.CaptchaData.CHALLENGE, success.success);
-            return result;
+            // if user made a valid selection, we process it
+            // add selected emoji to list of selected
+            Bitmap selectedBitmap = keyboardImages[answer];
+            selected.bitmaps.add(Bitmap.createScaledBitmap(selectedBitmap,
+                    selectedBitmap.getWidth() * SelectedEmojis.SIZE / selectedBitmap.getHeight(),
+                    SelectedEmojis.SIZE, true));
+
+            // send user selection to server
+            try {
+                Uri uri = locator.buildPath("api", "captcha", "emoji", "click")
+                        .buildUpon().build();
+                SimpleEntity entity = new SimpleEntity();
+                entity.setContentType("application/json; charset=utf-8");
+                JSONObject jsonObject = new JSONObject();
+                jsonObject.put("captchaTokenId", captchaId);
+                jsonObject.put("emojiNumber", answer);
+                entity.setData(jsonObject.toString());
+                HttpResponse response = new HttpRequest(uri, data)
+                        .setPostMethod(entity).perform();
+
+                // server returns new response (this is either new state or finish signal)
+                parsedResponse = parseEmojiCaptcha(response);
+            } catch (JSONException ex) {
+                // if something goes wrong, just drop the captcha solving process
+                return new ChanPerformer.ReadCaptchaResult(ChanPerformer.CaptchaState.NEED_LOAD, null);
+            }
         }
+
+        // If we got "success" field in server response then we finish the process, and fill
+        // the result
+        EmojiCaptchaResponse.Success success = (EmojiCaptchaResponse.Success) parsedResponse;
+        ChanPerformer.CaptchaData captchaData = new ChanPerformer.CaptchaData();
+        ChanPerformer.ReadCaptchaResult result = new ChanPerformer.ReadCaptchaResult(ChanPerformer.CaptchaState.SKIP, captchaData);
+        // Fill the challenge field with result, to use it later when we send post
+        captchaData.put(ChanPerformer.CaptchaData.CHALLENGE, success.success);
+        return result;
     }
 
     private HttpResponse doWithRetries(Uri uri, HttpRequest.Preset data, int attempts) throws HttpException {
@@ -261,6 +265,93 @@ class DvachEmojiCaptchaProvider {
         Integer getAnswer(Bitmap task, Bitmap[] keyboard);
     }
 
+    /**
+     * This class prepares keyboard key bitmaps. Prepared keys are cached by icon content, since
+     * icons repeat between rounds, and bitmaps of evicted keys are reused for new keys of the same size.
+     */
+    private class Keyboard {
+
+        private static final int MAX_CACHED_KEYS = 32;
+
+        private final LinkedHashMap<String, Bitmap> keys = new LinkedHashMap<>(16, 0.75f, true);
+        private final ArrayList<Bitmap> pool = new ArrayList<>();
+        private final Canvas canvas = new Canvas();
+
+        /**
+         * @param icons base64 keyboard icons
+         * @param decodeExecutor executor for parallel decoding of icons missing in cache
+         * @return key bitmaps in keyboard order
+         */
+        Bitmap[] obtainKeys(List<String> icons, ExecutorService decodeExecutor) {
+            Bitmap[] keyboardImages = new Bitmap[icons.size()];
+            HashMap<String, Future<Bitmap>> decoding = new HashMap<>();
+            for (int i = 0; i < icons.size(); i++) {
+                String icon = icons.get(i);
+                keyboardImages[i] = keys.get(icon);
+                if (keyboardImages[i] == null && !decoding.containsKey(icon)) {
+                    decoding.put(icon, decodeExecutor.submit(() -> base64ToBitmap(icon)));
+                }
+            }
+            for (int i = 0; i < icons.size(); i++) {
+                if (keyboardImages[i] == null) {
+                    String icon = icons.get(i);
+                    Bitmap keyBitmap = keys.get(icon);
+                    if (keyBitmap == null) {
+                        Bitmap origKeyIcon;
+                        try {
+                            origKeyIcon = decoding.get(icon).get();
+                        } catch (ExecutionException e) {
+                            throw new RuntimeException(e.getCause());
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                            throw new RuntimeException(e);
+                        }
+                        keyBitmap = createKeyBitmap(origKeyIcon);
+                        origKeyIcon.recycle();
+                        keys.put(icon, keyBitmap);
+                    }
+                    keyboardImages[i] = keyBitmap;
+                }
+            }
+            trim(icons);
+            return keyboardImages;
+        }
+
+        private Bitmap createKeyBitmap(Bitmap origKeyIcon) {
+            int maxSize = Math.max(origKeyIcon.getHeight(), origKeyIcon.getWidth());
+            Bitmap keyBitmap = null;
+            for (int i = pool.size() - 1; i >= 0; i--) {
+                Bitmap bitmap = pool.get(i);
+                if (bitmap.getWidth() == maxSize && bitmap.getHeight() == maxSize) {
+                    keyBitmap = pool.remove(i);
+                    break;
+                }
+            }
+            if (keyBitmap == null) {
+                keyBitmap = Bitmap.createBitmap(maxSize, maxSize, Bitmap.Config.ARGB_8888);
+            }
+            canvas.setBitmap(keyBitmap);
+            // set key background to white so the black icon would not overlap with dark theme
+            canvas.drawARGB(255, 255, 255, 255);
+            int x = Math.max((origKeyIcon.getHeight() - origKeyIcon.getWidth()) / 2, 0);
+            int y = Math.max((origKeyIcon.getWidth() - origKeyIcon.getHeight()) / 2, 0);
+            canvas.drawBitmap(origKeyIcon, x, y, null);
+            canvas.setBitmap(null);
+            return keyBitmap;
+        }
+
+        private void trim(List<String> currentIcons) {
+            Iterator<Map.Entry<String, Bitmap>> iterator = keys.entrySet().iterator();
+            while (keys.size() > MAX_CACHED_KEYS && iterator.hasNext()) {
+                Map.Entry<String, Bitmap> entry = iterator.next();
+                if (!currentIcons.contains(entry.getKey())) {
+                    iterator.remove();
+                    pool.add(entry.getValue());
+                }
+            }
+        }
+    }
+
     /**
      * This class is used for storing previously selected user emojis, to show them in emoji
      * selection dialog alongside with captcha task
@@ -67,10 +67,29 @@ public class DvachFirewallResolver extends FirewallResolver {
 		return session.getKey(Identifier.Flag.USER_AGENT);
 	}
 
+	// Challenge page is small, larger responses are not buffered just to check the title
+	private static final long MAX_CHALLENGE_LENGTH = 64 * 1024;
+
+	private static boolean mayBeChallenge(HttpResponse response) {
+		Map<String, List<String>> headers = response.getHeaderFields();
+		List<String> contentType = headers.get("Content-Type");
+		if (contentType != null && !contentType.isEmpty() && !contentType.get(0).startsWith("text/html")) {
+			return false;
+		}
+		List<String> contentLength = headers.get("Content-Length");
+		if (contentLength != null && !contentLength.isEmpty()) {
+			try {
+				return Long.parseLong(contentLength.get(0).trim()) <= MAX_CHALLENGE_LENGTH;
+			} catch (NumberFormatException e) {
+				// Ignore exception
+			}
+		}
+		return true;
+	}
+
 	@Override
 	public CheckResponseResult checkResponse(Session session, HttpResponse response) throws HttpException {
-		List<String> contentType = response.getHeaderFields().get("Content-Type");
-		if (contentType == null || contentType.isEmpty() || contentType.get(0).startsWith("text/html")) {
+		if (mayBeChallenge(response)) {
 			String responseText = response.readString();
 			if (responseText != null && responseText.contains("<title>Проверка...</title>")) {
 				// Firewall redirects to / or /challenge, restore the original URI
@@ -0,0 +1,87 @@
+package com.mishiranu.dashchan.chan.dvach;
+
+import android.os.SystemClock;
+
+import chan.http.HttpException;
+import chan.http.HttpRequest;
+import chan.http.HttpResponse;
+import java.net.HttpURLConnection;
+import java.util.Random;
+import java.util.concurrent.Semaphore;
+
+public class DvachMobileApiScheduler {
+	private static final int MAX_IN_FLIGHT = 4;
+	private static final int RATE = 8;
+	private static final int BURST = 8;
+
+	private static final int[] RETRY_DELAYS = {250, 500, 1000};
+
+	private final Semaphore inFlight;
+	private final double tokensPerMillisecond;
+	private final int burst;
+	private final Random random = new Random();
+
+	private double tokens;
+	private long tokensTime;
+
+	public DvachMobileApiScheduler() {
+		inFlight = new Semaphore(MAX_IN_FLIGHT, true);
+		tokensPerMillisecond = RATE / 1000.0;
+		burst = BURST;
+		tokens = burst;
+		tokensTime = SystemClock.elapsedRealtime();
+	}
+
+	// Takes a token from the bucket and returns the time to wait until it becomes available,
+	// so waiting callers don't hold the bucket
+	private synchronized int reserve() {
+		long time = SystemClock.elapsedRealtime();
+		tokens = Math.min(burst, tokens + (time - tokensTime) * tokensPerMillisecond);
+		tokensTime = time;
+		tokens -= 1;
+		return tokens >= 0 ? 0 : (int) Math.ceil(-tokens / tokensPerMillisecond);
+	}
+
+	private int getRetryDelay(int attempt) {
+		int delay = RETRY_DELAYS[Math.min(attempt, RETRY_DELAYS.length) - 1];
+		synchronized (random) {
+			return delay / 2 + random.nextInt(delay / 2 + 1);
+		}
+	}
+
+	private static void sleep(int delay, HttpException lastException) throws HttpException {
+		if (delay > 0) {
+			try {
+				Thread.sleep(delay);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw lastException != null ? lastException : new HttpException(0, null);
+			}
+		}
+	}
+
+	public HttpResponse perform(HttpRequest request) throws HttpException {
+		HttpException lastException = null;
+		for (int attempt = 0; attempt <= RETRY_DELAYS.length; attempt++) {
+			// Back off and wait for a token without holding a slot, so other requests proceed meanwhile
+			if (attempt > 0) {
+				sleep(getRetryDelay(attempt), lastException);
+			}
+			sleep(reserve(), lastException);
+			inFlight.acquireUninterruptibly();
+			try {
+				return request.perform();
+			} catch (HttpException e) {
+				if (e.isHttpException() && e.getResponseCode() == HttpURLConnection.HTTP_UNAVAILABLE) {
+					lastException = e;
+					// Retry in loop
+				} else {
+					throw e;
+				}
+			} finally {
+				inFlight.release();
+			}
+		}
+		throw lastException;
+	}
+}
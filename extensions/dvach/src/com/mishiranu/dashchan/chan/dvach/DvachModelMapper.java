@@ -27,10 +27,6 @@ import java.util.regex.Pattern;
 
 public class DvachModelMapper {
 	private static final Pattern PATTERN_BADGE = Pattern.compile("<img.+?src=\"(.+?)\".+?(?:title=\"(.+?)\")?.+?/?>");
-	private static final Pattern PATTERN_CODE = Pattern.compile("\\[code(?:\\s+lang=.+?)?](?:<br ?/?>)*(.+?)" +
-			"(?:<br ?/?>)*\\[/code]", Pattern.CASE_INSENSITIVE);
-	private static final Pattern PATTERN_HASHLINK = Pattern.compile("<a [^<>]*class=\"hashlink\"[^<>]*>");
-	private static final Pattern PATTERN_HASHLINK_TITLE = Pattern.compile("title=\"(.*?)\"");
 
 	public static class Extra {
 		public String tags;
@@ -283,31 +279,7 @@ public class DvachModelMapper {
 					break;
 				}
 				case "comment": {
-					comment = reader.nextString();
-					if (!StringUtils.isEmpty(comment)) {
-						comment = comment.replace(" (OP)</a>", "</a>");
-						comment = comment.replace(" \u2192</a>", "</a>");
-						comment = comment.replace("&#47;", "/");
-					}
-					if (comment.contains("\"hashlink\"")) {
-						comment = StringUtils.replaceAll(comment, PATTERN_HASHLINK, matcher -> {
-							String title = null;
-							Matcher matcher2 = PATTERN_HASHLINK_TITLE.matcher(matcher.group());
-							if (matcher2.find()) {
-								title = matcher2.group(1);
-							}
-							if (title != null) {
-								Uri uri = locator.createCatalogSearchUri(boardName, title);
-								String encodedUri = uri.toString().replace("&", "&amp;").replace("\"", "&quot;");
-								return "<a href=\"" + encodedUri + "\">";
-							} else {
-								return matcher.group();
-							}
-						});
-					}
-					if ("pr".equals(boardName) && comment.contains("[code")) {
-						comment = PATTERN_CODE.matcher(comment).replaceAll("<fakecode>$1</fakecode>");
-					}
+					comment = DvachCommentRewriter.rewrite(reader.nextString(), locator, boardName);
 					break;
 				}
 				case "name": {
@@ -411,8 +383,7 @@ public class DvachModelMapper {
 
 		// TODO Remove this after server side fix of subjects
 		if (post.getParentPostNumber() == null && subject != null) {
-			String clearComment = StringUtils.clearHtml(comment).replaceAll("\\s", "");
-			if (clearComment.startsWith(subject.replaceAll("\\s", ""))) {
+			if (DvachCommentRewriter.startsWithSubject(comment, subject)) {
 				subject = null;
 			}
 		}
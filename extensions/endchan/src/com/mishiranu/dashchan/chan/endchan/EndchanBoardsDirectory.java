@@ -0,0 +1,68 @@
+package com.mishiranu.dashchan.chan.endchan;
+
+import android.os.SystemClock;
+import chan.content.InvalidResponseException;
+import chan.content.model.Board;
+import chan.http.HttpException;
+import chan.http.HttpValidator;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+public class EndchanBoardsDirectory {
+	private static final int TTL = 10 * 60 * 1000;
+
+	public static class Page {
+		public final int pageCount;
+		public final List<Board> boards;
+		public final HttpValidator validator;
+
+		public Page(int pageCount, List<Board> boards, HttpValidator validator) {
+			this.pageCount = pageCount;
+			this.boards = Collections.unmodifiableList(boards);
+			this.validator = validator;
+		}
+	}
+
+	public interface Reader {
+		// Returns null if the page was not modified since the validator was issued
+		Page read(int pageNumber, HttpValidator validator) throws HttpException, InvalidResponseException;
+	}
+
+	private List<Page> pages = Collections.emptyList();
+	private long validUntil;
+
+	// Pages are read one by one on the caller's request, reads can't share its preset between threads
+	public synchronized List<Board> read(Reader reader) throws HttpException, InvalidResponseException {
+		if (pages.isEmpty() || SystemClock.elapsedRealtime() >= validUntil) {
+			List<Page> cachedPages = pages;
+			// Page count is only known from the first page
+			Page firstPage = readPage(reader, cachedPages, 0);
+			ArrayList<Page> newPages = new ArrayList<>(Math.max(1, firstPage.pageCount));
+			newPages.add(firstPage);
+			for (int i = 1; i < firstPage.pageCount; i++) {
+				newPages.add(readPage(reader, cachedPages, i));
+			}
+			pages = newPages;
+			validUntil = SystemClock.elapsedRealtime() + TTL;
+		}
+		ArrayList<Board> boards = new ArrayList<>();
+		for (Page page : pages) {
+			boards.addAll(page.boards);
+		}
+		return boards;
+	}
+
+	private static Page readPage(Reader reader, List<Page> cachedPages, int pageNumber)
+			throws HttpException, InvalidResponseException {
+		Page cachedPage = pageNumber < cachedPages.size() ? cachedPages.get(pageNumber) : null;
+		Page page = reader.read(pageNumber, cachedPage != null ? cachedPage.validator : null);
+		if (page == null) {
+			if (cachedPage == null) {
+				throw new InvalidResponseException();
+			}
+			return cachedPage;
+		}
+		return page;
+	}
+}
@@ -3,16 +3,19 @@ package com.mishiranu.dashchan.chan.endchan;
 import android.content.res.Resources;
 import android.util.Pair;
 import chan.content.ChanConfiguration;
-import chan.util.CommonUtils;
-import org.json.JSONArray;
-import org.json.JSONException;
-import org.json.JSONObject;
 
 public class EndchanChanConfiguration extends ChanConfiguration {
+	public static final int CAPTCHA_MODE_UNKNOWN = -1;
+	public static final int CAPTCHA_MODE_NOT_PROVIDED = -2;
+	public static final int CAPTCHA_MODE_THREADS = 1;
+	public static final int CAPTCHA_MODE_ALL = 2;
+
 	private static final String KEY_NAMES_ENABLED = "names_enabled";
 	private static final String KEY_FLAGS_ENABLED = "flags_enabled";
 	private static final String KEY_DELETE_ENABLED = "delete_enabled";
 	private static final String KEY_CODE_ENABLED = "code_enabled";
+	private static final String KEY_CAPTCHA_MODE = "captcha_mode";
+	private static final String KEY_CAPTCHA_MODE_UPDATE_TIME = "captcha_mode_update_time";
 
 	public EndchanChanConfiguration() {
 		request(OPTION_READ_USER_BOARDS);
@@ -95,44 +98,45 @@ public class EndchanChanConfiguration extends ChanConfiguration {
 		return false;
 	}
 
-	public void updateFromThreadsJson(String boardName, JSONObject jsonObject, boolean updateTitle) {
-		if (updateTitle) {
-			try {
-				String title = CommonUtils.getJsonString(jsonObject, "boardName");
-				String description = CommonUtils.optJsonString(jsonObject, "boardDescription");
-				storeBoardTitle(boardName, title);
-				storeBoardDescription(boardName, description);
-			} catch (JSONException e) {
-				// Ignore exception
-			}
+	public int getCaptchaMode(String boardName) {
+		return get(boardName, KEY_CAPTCHA_MODE, CAPTCHA_MODE_UNKNOWN);
+	}
+
+	public long getCaptchaModeUpdateTime(String boardName) {
+		try {
+			return Long.parseLong(get(boardName, KEY_CAPTCHA_MODE_UPDATE_TIME, "0"));
+		} catch (NumberFormatException e) {
+			return 0;
+		}
+	}
+
+	public void updateFromThreadsJson(String boardName, EndchanModelMapper.BoardConfiguration boardConfiguration,
+			boolean updateTitle) {
+		if (updateTitle && boardConfiguration.title != null) {
+			storeBoardTitle(boardName, boardConfiguration.title);
+			storeBoardDescription(boardName, boardConfiguration.description);
 		}
 		boolean namesEnabled = true;
 		boolean flagsEnabled = false;
 		boolean deleteEnabled = true;
 		boolean codeEnabled = false;
-		JSONArray jsonArray = jsonObject.optJSONArray("settings");
-		if (jsonArray != null) {
-			for (int i = 0; i < jsonArray.length(); i++) {
-				String setting = jsonArray.optString(i);
-				if (setting != null) {
-					switch (setting) {
-						case "forceAnonymity": {
-							namesEnabled = false;
-							break;
-						}
-						case "locationFlags": {
-							flagsEnabled = true;
-							break;
-						}
-						case "blockDeletion": {
-							deleteEnabled = false;
-							break;
-						}
-						case "allowCode": {
-							codeEnabled = true;
-							break;
-						}
-					}
+		for (String setting : boardConfiguration.settings) {
+			switch (setting) {
+				case "forceAnonymity": {
+					namesEnabled = false;
+					break;
+				}
+				case "locationFlags": {
+					flagsEnabled = true;
+					break;
+				}
+				case "blockDeletion": {
+					deleteEnabled = false;
+					break;
+				}
+				case "allowCode": {
+					codeEnabled = true;
+					break;
 				}
 			}
 		}
@@ -140,5 +144,9 @@ public class EndchanChanConfiguration extends ChanConfiguration {
 		set(boardName, KEY_FLAGS_ENABLED, flagsEnabled);
 		set(boardName, KEY_DELETE_ENABLED, deleteEnabled);
 		set(boardName, KEY_CODE_ENABLED, codeEnabled);
+		// Missing mode is stored too, so captcha checks go straight to the page HTML
+		set(boardName, KEY_CAPTCHA_MODE, boardConfiguration.captchaMode != null
+				? boardConfiguration.captchaMode : CAPTCHA_MODE_NOT_PROVIDED);
+		set(boardName, KEY_CAPTCHA_MODE_UPDATE_TIME, Long.toString(System.currentTimeMillis()));
 	}
 }
@@ -4,28 +4,33 @@ import android.graphics.Bitmap;
 import android.graphics.Color;
 import android.net.Uri;
 import android.os.SystemClock;
-import android.util.Base64;
 import chan.content.ApiException;
 import chan.content.ChanPerformer;
 import chan.content.InvalidResponseException;
 import chan.content.model.Board;
 import chan.content.model.BoardCategory;
+import chan.content.model.Posts;
 import chan.http.HttpException;
 import chan.http.HttpRequest;
 import chan.http.HttpResponse;
+import chan.http.HttpValidator;
 import chan.http.SimpleEntity;
+import chan.text.JsonSerial;
+import chan.text.ParseException;
 import chan.util.CommonUtils;
 import chan.util.StringUtils;
 import java.io.IOException;
 import java.io.InputStream;
+import java.net.HttpURLConnection;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
-import java.text.ParseException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Locale;
+import java.util.Set;
 import org.json.JSONArray;
 import org.json.JSONException;
 import org.json.JSONObject;
@@ -38,33 +43,42 @@ public class EndchanChanPerformer extends ChanPerformer {
 		EndchanChanLocator locator = EndchanChanLocator.get(this);
 		if (data.isCatalog()) {
 			Uri uri = locator.buildPath(data.boardName, "catalog.json");
-			try {
-				JSONArray jsonArray = new JSONArray(new HttpRequest(uri, data)
-						.setValidator(data.validator).perform().readString());
-				if (jsonArray.length() == 0) {
-					return null;
-				}
-				return new ReadThreadsResult(EndchanModelMapper.createThreads(jsonArray, locator));
-			} catch (JSONException | ParseException e) {
+			HttpResponse response = new HttpRequest(uri, data).setValidator(data.validator).perform();
+			try (InputStream input = response.open();
+					JsonSerial.Reader reader = JsonSerial.reader(input)) {
+				List<Posts> threads = EndchanModelMapper.createThreads(reader, locator);
+				return threads.isEmpty() ? null : new ReadThreadsResult(threads);
+			} catch (ParseException e) {
 				throw new InvalidResponseException(e);
+			} catch (IOException e) {
+				throw response.fail(e);
 			}
 		} else {
 			Uri uri = locator.buildPath(data.boardName, (data.pageNumber + 1) + ".json");
-			try {
-				JSONObject jsonObject = new JSONObject(new HttpRequest(uri, data)
-						.setValidator(data.validator).perform().readString());
-				if (data.pageNumber == 0) {
-					EndchanChanConfiguration configuration = EndchanChanConfiguration.get(this);
-					configuration.updateFromThreadsJson(data.boardName, jsonObject, true);
-				}
-				JSONArray jsonArray = jsonObject.optJSONArray("threads");
-				if (jsonArray == null || jsonObject.length() == 0) {
-					return null;
+			HttpResponse response = new HttpRequest(uri, data).setValidator(data.validator).perform();
+			EndchanModelMapper.BoardConfiguration boardConfiguration = new EndchanModelMapper.BoardConfiguration();
+			List<Posts> threads = null;
+			try (InputStream input = response.open();
+					JsonSerial.Reader reader = JsonSerial.reader(input)) {
+				reader.startObject();
+				while (!reader.endStruct()) {
+					String name = reader.nextName();
+					if ("threads".equals(name)) {
+						threads = EndchanModelMapper.createThreads(reader, locator);
+					} else if (!boardConfiguration.handle(reader, name)) {
+						reader.skip();
+					}
 				}
-				return new ReadThreadsResult(EndchanModelMapper.createThreads(jsonArray, locator));
-			} catch (JSONException | ParseException e) {
+			} catch (ParseException e) {
 				throw new InvalidResponseException(e);
+			} catch (IOException e) {
+				throw response.fail(e);
+			}
+			if (data.pageNumber == 0) {
+				EndchanChanConfiguration configuration = EndchanChanConfiguration.get(this);
+				configuration.updateFromThreadsJson(data.boardName, boardConfiguration, true);
 			}
+			return threads == null || threads.isEmpty() ? null : new ReadThreadsResult(threads);
 		}
 	}
 
@@ -72,87 +86,184 @@ public class EndchanChanPerformer extends ChanPerformer {
 	public ReadPostsResult onReadPosts(ReadPostsData data) throws HttpException, InvalidResponseException {
 		EndchanChanLocator locator = EndchanChanLocator.get(this);
 		Uri uri = locator.buildPath(data.boardName, "res", data.threadNumber + ".json");
-		try {
-			JSONObject jsonObject = new JSONObject(new HttpRequest(uri, data)
-					.setValidator(data.validator).perform().readString());
-			return new ReadPostsResult(EndchanModelMapper.createPosts(jsonObject, locator));
-		} catch (JSONException | ParseException e) {
+		HttpResponse response = new HttpRequest(uri, data).setValidator(data.validator).perform();
+		try (InputStream input = response.open();
+				JsonSerial.Reader reader = JsonSerial.reader(input)) {
+			return new ReadPostsResult(EndchanModelMapper.createPosts(reader, locator, false));
+		} catch (ParseException e) {
+			throw new InvalidResponseException(e);
+		} catch (IOException e) {
+			throw response.fail(e);
+		}
+	}
+
+	private EndchanModelMapper.BoardConfiguration readBoardConfiguration(HttpRequest.Preset preset,
+			String boardName) throws HttpException, InvalidResponseException {
+		EndchanChanLocator locator = EndchanChanLocator.get(this);
+		Uri uri = locator.buildPath(boardName, "1.json");
+		HttpResponse response = new HttpRequest(uri, preset).perform();
+		EndchanModelMapper.BoardConfiguration boardConfiguration = new EndchanModelMapper.BoardConfiguration();
+		try (InputStream input = response.open();
+				JsonSerial.Reader reader = JsonSerial.reader(input)) {
+			reader.startObject();
+			while (!reader.endStruct()) {
+				if (!boardConfiguration.handle(reader, reader.nextName())) {
+					reader.skip();
+				}
+			}
+		} catch (ParseException e) {
 			throw new InvalidResponseException(e);
+		} catch (IOException e) {
+			throw response.fail(e);
+		}
+		if (boardConfiguration.title == null) {
+			throw new InvalidResponseException();
 		}
+		return boardConfiguration;
 	}
 
 	@Override
 	public ReadBoardsResult onReadBoards(ReadBoardsData data) throws HttpException, InvalidResponseException {
-		EndchanChanLocator locator = EndchanChanLocator.get(this);
 		EndchanChanConfiguration configuration = EndchanChanConfiguration.get(this);
 		Board[] boards = new Board[BOARDS_GENERAL.length];
-		try {
-			for (int i = 0; i < BOARDS_GENERAL.length; i++) {
-				Uri uri = locator.buildPath(BOARDS_GENERAL[i], "1.json");
-				JSONObject jsonObject = new JSONObject(new HttpRequest(uri, data).perform().readString());
-				String title = CommonUtils.getJsonString(jsonObject, "boardName");
-				String description = CommonUtils.optJsonString(jsonObject, "boardDescription");
-				configuration.updateFromThreadsJson(BOARDS_GENERAL[i], jsonObject, false);
-				boards[i] = new Board(BOARDS_GENERAL[i], title, description);
-			}
-		} catch (JSONException e) {
-			throw new InvalidResponseException(e);
+		for (int i = 0; i < BOARDS_GENERAL.length; i++) {
+			EndchanModelMapper.BoardConfiguration boardConfiguration = readBoardConfiguration(data, BOARDS_GENERAL[i]);
+			configuration.updateFromThreadsJson(BOARDS_GENERAL[i], boardConfiguration, false);
+			boards[i] = new Board(BOARDS_GENERAL[i], boardConfiguration.title, boardConfiguration.description);
 		}
 		return new ReadBoardsResult(new BoardCategory("General", boards));
 	}
 
-	@Override
-	public ReadUserBoardsResult onReadUserBoards(ReadUserBoardsData data) throws HttpException,
-			InvalidResponseException {
+	private final EndchanBoardsDirectory userBoardsDirectory = new EndchanBoardsDirectory();
+
+	private EndchanBoardsDirectory.Page readUserBoardsPage(HttpRequest.Preset preset, int pageNumber,
+			HttpValidator validator, Set<String> ignoreBoardNames) throws HttpException, InvalidResponseException {
 		EndchanChanLocator locator = EndchanChanLocator.get(this);
-		Uri uri = locator.buildQuery("boards.js", "json", "1");
-		try {
-			JSONObject jsonObject = new JSONObject(new HttpRequest(uri, data).perform().readString());
-			HashSet<String> ignoreBoardNames = new HashSet<>();
-			Collections.addAll(ignoreBoardNames, BOARDS_GENERAL);
-			ArrayList<Board> boards = new ArrayList<>();
-			for (int i = 0, count = jsonObject.getInt("pageCount"); i < count; i++) {
-				if (i > 0) {
-					uri = locator.buildQuery("boards.js", "json", "1", "page", Integer.toString(i + 1));
-					jsonObject = new JSONObject(new HttpRequest(uri, data).perform().readString());
-				}
-				JSONArray jsonArray = jsonObject.getJSONArray("boards");
-				for (int j = 0; j < jsonArray.length(); j++) {
-					jsonObject = jsonArray.getJSONObject(j);
-					String boardName = CommonUtils.getJsonString(jsonObject, "boardUri");
-					if (!ignoreBoardNames.contains(boardName)) {
-						String title = CommonUtils.getJsonString(jsonObject, "boardName");
-						String description = CommonUtils.getJsonString(jsonObject, "boardDescription");
-						boards.add(new Board(boardName, title, description));
+		Uri uri = pageNumber > 0 ? locator.buildQuery("boards.js", "json", "1",
+				"page", Integer.toString(pageNumber + 1)) : locator.buildQuery("boards.js", "json", "1");
+		HttpResponse response = new HttpRequest(uri, preset).setValidator(validator)
+				.setSuccessOnly(false).perform();
+		if (validator != null && response.getResponseCode() == HttpURLConnection.HTTP_NOT_MODIFIED) {
+			return null;
+		}
+		response.checkResponseCode();
+		ArrayList<Board> boards = new ArrayList<>();
+		int pageCount = 0;
+		try (InputStream input = response.open();
+				JsonSerial.Reader reader = JsonSerial.reader(input)) {
+			reader.startObject();
+			while (!reader.endStruct()) {
+				switch (reader.nextName()) {
+					case "pageCount": {
+						pageCount = reader.nextInt();
+						break;
+					}
+					case "boards": {
+						reader.startArray();
+						while (!reader.endStruct()) {
+							String boardName = null;
+							String title = null;
+							String description = null;
+							reader.startObject();
+							while (!reader.endStruct()) {
+								switch (reader.nextName()) {
+									case "boardUri": {
+										boardName = reader.nextString();
+										break;
+									}
+									case "boardName": {
+										title = reader.nextString();
+										break;
+									}
+									case "boardDescription": {
+										description = reader.nextString();
+										break;
+									}
+									default: {
+										reader.skip();
+										break;
+									}
+								}
+							}
+							if (boardName == null || title == null) {
+								throw new InvalidResponseException();
+							}
+							if (!ignoreBoardNames.contains(boardName)) {
+								boards.add(new Board(boardName, title, description));
+							}
+						}
+						break;
+					}
+					default: {
+						reader.skip();
+						break;
 					}
 				}
 			}
-			return new ReadUserBoardsResult(boards);
-		} catch (JSONException e) {
+		} catch (ParseException e) {
 			throw new InvalidResponseException(e);
+		} catch (IOException e) {
+			throw response.fail(e);
 		}
+		return new EndchanBoardsDirectory.Page(pageCount, boards, response.getValidator());
+	}
+
+	@Override
+	public ReadUserBoardsResult onReadUserBoards(ReadUserBoardsData data) throws HttpException,
+			InvalidResponseException {
+		HashSet<String> ignoreBoardNames = new HashSet<>();
+		Collections.addAll(ignoreBoardNames, BOARDS_GENERAL);
+		return new ReadUserBoardsResult(userBoardsDirectory.read((pageNumber, validator) ->
+				readUserBoardsPage(data, pageNumber, validator, ignoreBoardNames)));
 	}
 
 	private static final String REQUIRE_REPORT = "report";
 	private static final String REQUIRE_IP_BLOCK_BYPASS = "ip_block_bypass";
 
+	private static final int CAPTCHA_MODE_UPDATE_INTERVAL = 60 * 60 * 1000;
+
+	private boolean isCaptchaRequired(HttpRequest.Preset preset, String boardName, String threadNumber)
+			throws HttpException, InvalidResponseException {
+		// Captcha mode is stored with the board configuration from page JSON,
+		// so it's only requested here when the board was not loaded for a while
+		EndchanChanConfiguration configuration = EndchanChanConfiguration.get(this);
+		int captchaMode = configuration.getCaptchaMode(boardName);
+		long time = System.currentTimeMillis();
+		long update = configuration.getCaptchaModeUpdateTime(boardName);
+		if (captchaMode == EndchanChanConfiguration.CAPTCHA_MODE_UNKNOWN) {
+			configuration.updateFromThreadsJson(boardName, readBoardConfiguration(preset, boardName), true);
+			captchaMode = configuration.getCaptchaMode(boardName);
+		} else if (update > time || update + CAPTCHA_MODE_UPDATE_INTERVAL <= time) {
+			try {
+				configuration.updateFromThreadsJson(boardName, readBoardConfiguration(preset, boardName), true);
+				captchaMode = configuration.getCaptchaMode(boardName);
+			} catch (HttpException | InvalidResponseException e) {
+				// Ignore exception, use the stored mode
+			}
+		}
+		if (captchaMode != EndchanChanConfiguration.CAPTCHA_MODE_NOT_PROVIDED) {
+			return captchaMode == EndchanChanConfiguration.CAPTCHA_MODE_ALL ||
+					captchaMode == EndchanChanConfiguration.CAPTCHA_MODE_THREADS && StringUtils.isEmpty(threadNumber);
+		}
+		// Page JSON doesn't provide captcha mode, check the page itself
+		EndchanChanLocator locator = EndchanChanLocator.get(this);
+		Uri uri;
+		if (!StringUtils.isEmpty(threadNumber)) {
+			uri = locator.createThreadUri(boardName, threadNumber);
+		} else {
+			uri = locator.createBoardUri(boardName, 0);
+		}
+		String responseText = new HttpRequest(uri, preset).perform().readString();
+		return responseText.contains("<div id=\"captchaDiv\">");
+	}
+
 	@Override
 	public ReadCaptchaResult onReadCaptcha(ReadCaptchaData data) throws HttpException, InvalidResponseException {
-		boolean needCaptcha = false;
+		boolean needCaptcha;
 		if (REQUIRE_REPORT.equals(data.requirement) || REQUIRE_IP_BLOCK_BYPASS.equals(data.requirement)) {
 			needCaptcha = true;
 		} else {
-			EndchanChanLocator locator = EndchanChanLocator.get(this);
-			Uri uri;
-			if (!StringUtils.isEmpty(data.threadNumber)) {
-				uri = locator.createThreadUri(data.boardName, data.threadNumber);
-			} else {
-				uri = locator.createBoardUri(data.boardName, 0);
-			}
-			String responseText = new HttpRequest(uri, data).perform().readString();
-			if (responseText.contains("<div id=\"captchaDiv\">")) {
-				needCaptcha = true;
-			}
+			needCaptcha = isCaptchaRequired(data, data.boardName, data.threadNumber);
 		}
 
 		if (needCaptcha) {
@@ -192,106 +303,124 @@ public class EndchanChanPerformer extends ChanPerformer {
 		return password != null && password.length() > 8 ? password.substring(0, 8) : password;
 	}
 
+	private static final int FILE_BUFFER_SIZE = 3 * 8192;
+
+	private static String computeFileMd5(SendPostData.Attachment attachment) throws IOException {
+		MessageDigest messageDigest;
+		try {
+			messageDigest = MessageDigest.getInstance("MD5");
+		} catch (NoSuchAlgorithmException e) {
+			throw new RuntimeException(e);
+		}
+		byte[] buffer = new byte[FILE_BUFFER_SIZE];
+		try (InputStream inputStream = attachment.openInputSteam()) {
+			int count;
+			while ((count = inputStream.read(buffer)) >= 0) {
+				messageDigest.update(buffer, 0, count);
+			}
+		}
+		StringBuilder digestBuilder = new StringBuilder();
+		for (byte b : messageDigest.digest()) {
+			digestBuilder.append(String.format(Locale.US, "%02x", b));
+		}
+		return digestBuilder.toString();
+	}
+
+	private static void appendJsonField(EndchanPostEntity.Builder builder, String name, String value) {
+		if (builder.lastChar() != '{') {
+			builder.append(',');
+		}
+		builder.append(JSONObject.quote(name)).append(':').append(JSONObject.quote(value));
+	}
+
 	@Override
 	public SendPostResult onSendPost(SendPostData data) throws HttpException, ApiException, InvalidResponseException {
 		EndchanChanLocator locator = EndchanChanLocator.get(this);
-		SimpleEntity entity = new SimpleEntity();
-		entity.setContentType("application/json; charset=utf-8");
-		JSONObject jsonObject = new JSONObject();
-		JSONObject parametersObject = new JSONObject();
 		EndchanChanConfiguration configuration = EndchanChanConfiguration.get(this);
 		String ipBlockBypassKey = "ip_block_bypass_key";
 		String ipBlockBypassId = configuration.get(null, ipBlockBypassKey, null);
-		try {
-			try {
-				if (!StringUtils.isEmpty(ipBlockBypassId)){
-					jsonObject.put("bypassId", ipBlockBypassId);
-				}
-				jsonObject.put("parameters", parametersObject);
-				parametersObject.put("boardUri", data.boardName);
-				if (data.threadNumber != null) {
-					parametersObject.put("threadId", data.threadNumber);
-				}
-				if (data.name != null) {
-					parametersObject.put("name", data.name);
-				}
-				if (data.subject != null) {
-					parametersObject.put("subject", data.subject);
-				}
-				if (data.password != null) {
-					parametersObject.put("password", trimPassword(data.password));
-				}
-				parametersObject.put("message", StringUtils.emptyIfNull(data.comment));
-			} catch (JSONException e) {
-				throw new RuntimeException(e);
-			}
-
-			String captchaId = data.captchaData != null ? data.captchaData.get(CaptchaData.CHALLENGE) : null;
-			if (captchaId != null) {
+		// Check every file by its hash first, so only unknown files are read again and encoded
+		String[] fileHashes = null;
+		if (data.attachments != null) {
+			fileHashes = new String[data.attachments.length];
+			for (int i = 0; i < data.attachments.length; i++) {
+				SendPostData.Attachment attachment = data.attachments[i];
+				String fileHash;
 				try {
-					jsonObject.put("captchaId", captchaId);
-					parametersObject.put("captcha", StringUtils.emptyIfNull(data.captchaData.get(CaptchaData.INPUT)));
-				} catch (JSONException e) {
-					throw new RuntimeException(e);
+					fileHash = computeFileMd5(attachment);
+				} catch (IOException e) {
+					// File will be sent as is, read error will be reported by the request
+					continue;
+				}
+				Uri uri = locator.buildQuery("checkFileIdentifier.js", "identifier", fileHash + "-"
+						+ attachment.getMimeType().replace("/", ""));
+				String responseText = new HttpRequest(uri, data).perform().readString();
+				if ("true".equals(responseText)) {
+					fileHashes[i] = fileHash;
+				} else if (!"false".equals(responseText)) {
+					throw new InvalidResponseException();
 				}
 			}
+		}
 
-			if (data.attachments != null) {
-				JSONArray jsonArray = new JSONArray();
-				MessageDigest messageDigest;
-				try {
-					messageDigest = MessageDigest.getInstance("MD5");
-				} catch (NoSuchAlgorithmException e) {
-					throw new RuntimeException(e);
+		EndchanPostEntity.Builder builder = new EndchanPostEntity.Builder();
+		builder.append('{');
+		String captchaId = data.captchaData != null ? data.captchaData.get(CaptchaData.CHALLENGE) : null;
+		if (!StringUtils.isEmpty(ipBlockBypassId)) {
+			appendJsonField(builder, "bypassId", ipBlockBypassId);
+		}
+		if (captchaId != null) {
+			appendJsonField(builder, "captchaId", captchaId);
+		}
+		if (builder.length() > 1) {
+			builder.append(',');
+		}
+		builder.append("\"parameters\":{");
+		appendJsonField(builder, "boardUri", data.boardName);
+		if (data.threadNumber != null) {
+			appendJsonField(builder, "threadId", data.threadNumber);
+		}
+		if (data.name != null) {
+			appendJsonField(builder, "name", data.name);
+		}
+		if (data.subject != null) {
+			appendJsonField(builder, "subject", data.subject);
+		}
+		if (data.password != null) {
+			appendJsonField(builder, "password", trimPassword(data.password));
+		}
+		appendJsonField(builder, "message", StringUtils.emptyIfNull(data.comment));
+		if (captchaId != null) {
+			appendJsonField(builder, "captcha", StringUtils.emptyIfNull(data.captchaData.get(CaptchaData.INPUT)));
+		}
+		if (data.attachments != null) {
+			builder.append(",\"files\":[");
+			for (int i = 0; i < data.attachments.length; i++) {
+				SendPostData.Attachment attachment = data.attachments[i];
+				if (i > 0) {
+					builder.append(',');
 				}
-				for (int i = 0; i < data.attachments.length; i++) {
-					SendPostData.Attachment attachment = data.attachments[i];
-					byte[] bytes = new byte[(int) attachment.getSize()];
-					try (InputStream inputStream = attachment.openInputSteam()) {
-						inputStream.read(bytes);
-					} catch (IOException e) {
-						throw new RuntimeException(e);
-					}
-					messageDigest.reset();
-					byte[] digest = messageDigest.digest(bytes);
-					StringBuilder digestBuilder = new StringBuilder();
-					for (byte b : digest) {
-						digestBuilder.append(String.format(Locale.US, "%02x", b));
-					}
-					Uri uri = locator.buildQuery("checkFileIdentifier.js", "identifier", digestBuilder + "-"
-							+ attachment.getMimeType().replace("/", ""));
-					String responseText = new HttpRequest(uri, data).perform().readString();
-					JSONObject fileObject = new JSONObject();
-					try {
-						if ("false".equals(responseText)) {
-							fileObject.put("content", "data:" + attachment.getMimeType() + ";base64,"
-									+ Base64.encodeToString(bytes, Base64.NO_WRAP));
-						} else if ("true".equals(responseText)) {
-							fileObject.put("mime", attachment.getMimeType());
-							fileObject.put("md5", digestBuilder.toString());
-						} else {
-							throw new InvalidResponseException();
-						}
-						fileObject.put("name", attachment.getFileName());
-						if (attachment.optionSpoiler) {
-							fileObject.put("spoiler", true);
-						}
-						jsonArray.put(fileObject);
-					} catch (JSONException e) {
-						throw new RuntimeException(e);
-					}
+				builder.append('{');
+				if (fileHashes[i] != null) {
+					appendJsonField(builder, "mime", attachment.getMimeType());
+					appendJsonField(builder, "md5", fileHashes[i]);
+				} else {
+					builder.append("\"content\":\"data:").append(attachment.getMimeType()).append(";base64,");
+					builder.appendFileBase64(attachment);
+					builder.append('"');
 				}
-				try {
-					parametersObject.put("files", jsonArray);
-				} catch (JSONException e) {
-					throw new RuntimeException(e);
+				appendJsonField(builder, "name", attachment.getFileName());
+				if (attachment.optionSpoiler) {
+					builder.append(",\"spoiler\":true");
 				}
+				builder.append('}');
 			}
-			entity.setData(jsonObject.toString());
-		} catch (OutOfMemoryError e) {
-			throw new RuntimeException(e);
+			builder.append(']');
 		}
+		builder.append("}}");
+		EndchanPostEntity entity = builder.build();
 
+		JSONObject jsonObject;
 		Uri uri = locator.buildPath(".api", data.threadNumber != null ? "replyThread" : "newThread");
 		try {
 			jsonObject = new JSONObject(new HttpRequest(uri, data).setPostMethod(entity)
@@ -1,32 +1,107 @@
 package com.mishiranu.dashchan.chan.endchan;
 
 import android.net.Uri;
+import chan.content.TimestampParser;
 import chan.content.model.FileAttachment;
 import chan.content.model.Icon;
 import chan.content.model.Post;
 import chan.content.model.Posts;
-import chan.util.CommonUtils;
+import chan.text.JsonSerial;
+import chan.text.ParseException;
 import chan.util.StringUtils;
-import java.text.ParseException;
-import java.text.SimpleDateFormat;
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.List;
 import java.util.Locale;
-import java.util.TimeZone;
 import java.util.regex.Pattern;
-import org.json.JSONArray;
-import org.json.JSONException;
-import org.json.JSONObject;
 
 public class EndchanModelMapper {
-	public static FileAttachment createFileAttachment(JSONObject jsonObject, EndchanChanLocator locator)
-			throws JSONException {
+	public static class BoardConfiguration {
+		public String title;
+		public String description;
+		public Integer captchaMode;
+		public final ArrayList<String> settings = new ArrayList<>();
+
+		public boolean handle(JsonSerial.Reader reader, String name) throws IOException, ParseException {
+			switch (name) {
+				case "boardName": {
+					title = reader.nextString();
+					return true;
+				}
+				case "boardDescription": {
+					description = reader.nextString();
+					return true;
+				}
+				case "captchaMode": {
+					captchaMode = reader.nextInt();
+					return true;
+				}
+				case "settings": {
+					reader.startArray();
+					while (!reader.endStruct()) {
+						String setting = reader.nextString();
+						if (setting != null) {
+							settings.add(setting);
+						}
+					}
+					return true;
+				}
+				default: {
+					return false;
+				}
+			}
+		}
+	}
+
+	private static class Extra {
+		private String threadNumber;
+		private String postNumber;
+		private int omittedPosts;
+		private final ArrayList<Post> posts = new ArrayList<>();
+	}
+
+	private static FileAttachment createFileAttachment(JsonSerial.Reader reader, EndchanChanLocator locator)
+			throws IOException, ParseException {
 		FileAttachment attachment = new FileAttachment();
-		attachment.setSize(jsonObject.optInt("size"));
-		attachment.setWidth(jsonObject.optInt("width"));
-		attachment.setHeight(jsonObject.optInt("height"));
-		String path = CommonUtils.getJsonString(jsonObject, "path");
-		String thumb = CommonUtils.optJsonString(jsonObject, "thumb");
-		String originalName = CommonUtils.optJsonString(jsonObject, "originalName");
+		String path = null;
+		String thumb = null;
+		String originalName = null;
+		reader.startObject();
+		while (!reader.endStruct()) {
+			switch (reader.nextName()) {
+				case "size": {
+					attachment.setSize(reader.nextInt());
+					break;
+				}
+				case "width": {
+					attachment.setWidth(reader.nextInt());
+					break;
+				}
+				case "height": {
+					attachment.setHeight(reader.nextInt());
+					break;
+				}
+				case "path": {
+					path = reader.nextString();
+					break;
+				}
+				case "thumb": {
+					thumb = reader.nextString();
+					break;
+				}
+				case "originalName": {
+					originalName = reader.nextString();
+					break;
+				}
+				default: {
+					reader.skip();
+					break;
+				}
+			}
+		}
+		if (path == null) {
+			throw new ParseException(new Exception("File path is null"));
+		}
 		attachment.setFileUri(locator, locator.buildPath(path));
 		if ("/spoiler.png".equals(thumb)) {
 			attachment.setSpoiler(true);
@@ -39,63 +114,153 @@ public class EndchanModelMapper {
 		return attachment;
 	}
 
-	private static final SimpleDateFormat DATE_FORMAT = new SimpleDateFormat("yyyy-MM-dd'T'hh:mm:ss.SSS'Z'", Locale.US);
-
-	static {
-		DATE_FORMAT.setTimeZone(TimeZone.getTimeZone("UTC"));
-	}
+	private static final TimestampParser TIMESTAMP_PARSER = TimestampParser.get("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'", "UTC");
 
 	private static final Pattern PATTERN_BROKEN_LINK = Pattern.compile("(<a [^>]*?href=\"/[^/]+/res/)" +
 			"(\\d+)(.html#\\2\")");
 	private static final Pattern PATTERN_COLORED_TEXT = Pattern.compile("<span class=\"(\\w+)Text\">");
 
-	public static Post createPost(JSONObject jsonObject, EndchanChanLocator locator, String threadNumber)
-			throws JSONException, ParseException {
+	private static boolean nextFlag(JsonSerial.Reader reader) throws IOException, ParseException {
+		// Flags might be either booleans or numbers
+		String value = reader.nextString();
+		return value != null && !"false".equals(value) && !"0".equals(value);
+	}
+
+	private static Post createPost(JsonSerial.Reader reader, EndchanChanLocator locator, Extra extra)
+			throws IOException, ParseException {
 		Post post = new Post();
-		if (jsonObject.optInt("pinned") != 0) {
-			post.setSticky(true);
-		}
-		if (jsonObject.optInt("locked") != 0) {
-			post.setClosed(true);
-		}
-		if (jsonObject.optInt("cyclic") != 0) {
-			post.setCyclical(true);
-		}
-		if (threadNumber != null) {
-			post.setParentPostNumber(threadNumber);
-			post.setPostNumber(CommonUtils.getJsonString(jsonObject, "postId"));
-		} else {
-			post.setPostNumber(CommonUtils.getJsonString(jsonObject, "threadId"));
-		}
-		post.setTimestamp(DATE_FORMAT.parse(CommonUtils.getJsonString(jsonObject, "creation")).getTime());
-		String name = CommonUtils.optJsonString(jsonObject, "name");
-		if (!StringUtils.isEmpty(name)) {
-			name = StringUtils.clearHtml(name).trim();
-			if (!name.isEmpty()) {
-				int index = name.indexOf('#');
-				if (index >= 0) {
-					post.setTripcode(name.substring(index).replace('#', '!'));
-					name = index > 0 ? name.substring(0, index) : null;
-				}
-				post.setName(name);
+		String flag = null;
+		String flagName = null;
+		reader.startObject();
+		while (!reader.endStruct()) {
+			String name = reader.nextName();
+			switch (name) {
+				case "pinned": {
+					post.setSticky(nextFlag(reader));
+					break;
+				}
+				case "locked": {
+					post.setClosed(nextFlag(reader));
+					break;
+				}
+				case "cyclic": {
+					post.setCyclical(nextFlag(reader));
+					break;
+				}
+				case "threadId": {
+					extra.threadNumber = reader.nextString();
+					break;
+				}
+				case "postId": {
+					extra.postNumber = reader.nextString();
+					break;
+				}
+				case "creation": {
+					String creation = reader.nextString();
+					try {
+						post.setTimestamp(TIMESTAMP_PARSER.parse(creation));
+					} catch (java.text.ParseException e) {
+						throw new ParseException(e);
+					}
+					break;
+				}
+				case "name": {
+					String postName = reader.nextString();
+					if (!StringUtils.isEmpty(postName)) {
+						postName = StringUtils.clearHtml(postName).trim();
+						if (!postName.isEmpty()) {
+							int index = postName.indexOf('#');
+							if (index >= 0) {
+								post.setTripcode(postName.substring(index).replace('#', '!'));
+								postName = index > 0 ? postName.substring(0, index) : null;
+							}
+							post.setName(postName);
+						}
+					}
+					break;
+				}
+				case "id": {
+					String identifier = reader.nextString();
+					if (!StringUtils.isEmpty(identifier)) {
+						post.setIdentifier(StringUtils.nullIfEmpty(StringUtils.clearHtml(identifier).trim()));
+					}
+					break;
+				}
+				case "signedRole": {
+					String signedRole = reader.nextString();
+					if (!StringUtils.isEmpty(signedRole)) {
+						post.setCapcode(StringUtils.nullIfEmpty(StringUtils.clearHtml(signedRole).trim()));
+					}
+					break;
+				}
+				case "email": {
+					String email = reader.nextString();
+					if ("sage".equals(email)) {
+						post.setSage(true);
+					} else {
+						post.setEmail(StringUtils.nullIfEmpty(StringUtils.clearHtml(email).trim()));
+					}
+					break;
+				}
+				case "flag": {
+					flag = reader.nextString();
+					break;
+				}
+				case "flagName": {
+					flagName = reader.nextString();
+					break;
+				}
+				case "subject": {
+					String subject = reader.nextString();
+					if (subject != null) {
+						post.setSubject(StringUtils.nullIfEmpty(StringUtils.clearHtml(subject).trim()));
+					}
+					break;
+				}
+				case "markdown": {
+					// Comment is fixed once the thread number is known
+					post.setComment(reader.nextString());
+					break;
+				}
+				case "message": {
+					post.setCommentMarkup(reader.nextString());
+					break;
+				}
+				case "files": {
+					ArrayList<FileAttachment> attachments = null;
+					reader.startArray();
+					while (!reader.endStruct()) {
+						if (attachments == null) {
+							attachments = new ArrayList<>();
+						}
+						attachments.add(createFileAttachment(reader, locator));
+					}
+					post.setAttachments(attachments);
+					break;
+				}
+				case "posts": {
+					reader.startArray();
+					while (!reader.endStruct()) {
+						Extra postExtra = new Extra();
+						Post childPost = createPost(reader, locator, postExtra);
+						if (postExtra.postNumber == null) {
+							throw new ParseException(new Exception("Post ID is null"));
+						}
+						childPost.setPostNumber(postExtra.postNumber);
+						extra.posts.add(childPost);
+					}
+					break;
+				}
+				case "ommitedPosts": {
+					extra.omittedPosts = reader.nextInt();
+					break;
+				}
+				default: {
+					reader.skip();
+					break;
+				}
 			}
 		}
-		String identifier = CommonUtils.optJsonString(jsonObject, "id");
-		if (!StringUtils.isEmpty(identifier)) {
-			post.setIdentifier(StringUtils.nullIfEmpty(StringUtils.clearHtml(identifier).trim()));
-		}
-		String signedRole = CommonUtils.optJsonString(jsonObject, "signedRole");
-		if (!StringUtils.isEmpty(signedRole)) {
-			post.setCapcode(StringUtils.nullIfEmpty(StringUtils.clearHtml(signedRole).trim()));
-		}
-		String email = CommonUtils.optJsonString(jsonObject, "email");
-		if ("sage".equals(email)) {
-			post.setSage(true);
-		} else {
-			post.setEmail(StringUtils.nullIfEmpty(StringUtils.clearHtml(email).trim()));
-		}
-		String flag = CommonUtils.optJsonString(jsonObject, "flag");
-		String flagName = CommonUtils.optJsonString(jsonObject, "flagName");
 		if (flag != null) {
 			Uri uri = locator.buildPath(flag);
 			if (StringUtils.isEmpty(flagName)) {
@@ -106,11 +271,10 @@ public class EndchanModelMapper {
 			}
 			post.setIcons(new Icon(locator, uri, flagName));
 		}
-		String subject = CommonUtils.optJsonString(jsonObject, "subject");
-		if (subject != null) {
-			post.setSubject(StringUtils.nullIfEmpty(StringUtils.clearHtml(subject).trim()));
-		}
-		String comment = CommonUtils.getJsonString(jsonObject, "markdown");
+		return post;
+	}
+
+	private static String fixComment(String comment, String threadNumber) {
 		if (!StringUtils.isEmpty(comment)) {
 			comment = comment.replaceAll("(<a class=\"quoteLink\".*?>)&gt&gt", "$1&gt;&gt;"); // Fix html
 			comment = StringUtils.replaceAll(comment, PATTERN_BROKEN_LINK,
@@ -144,46 +308,40 @@ public class EndchanModelMapper {
 				}
 			});
 		}
-		post.setComment(comment);
-		post.setCommentMarkup(CommonUtils.optJsonString(jsonObject, "message"));
-		JSONArray jsonArray = jsonObject.optJSONArray("files");
-		if (jsonArray != null && jsonArray.length() > 0) {
-			ArrayList<FileAttachment> attachments = new ArrayList<>();
-			for (int i = 0; i < jsonArray.length(); i++) {
-				attachments.add(createFileAttachment(jsonArray.getJSONObject(i), locator));
-			}
-			post.setAttachments(attachments);
-		}
-		return post;
+		return comment;
 	}
 
-	public static Posts createPosts(JSONObject jsonObject, EndchanChanLocator locator) throws JSONException,
-			ParseException {
-		Post originalPost = createPost(jsonObject, locator, null);
-		JSONArray jsonArray = jsonObject.optJSONArray("posts");
-		ArrayList<Post> posts = new ArrayList<>(1 + (jsonArray != null ? jsonArray.length() : 0));
+	public static Posts createPosts(JsonSerial.Reader reader, EndchanChanLocator locator, boolean addPostsCount)
+			throws IOException, ParseException {
+		Extra extra = new Extra();
+		Post originalPost = createPost(reader, locator, extra);
+		String threadNumber = extra.threadNumber;
+		if (threadNumber == null) {
+			throw new ParseException(new Exception("Thread ID is null"));
+		}
+		originalPost.setPostNumber(threadNumber);
+		originalPost.setComment(fixComment(originalPost.getComment(), threadNumber));
+		ArrayList<Post> posts = new ArrayList<>(1 + extra.posts.size());
 		posts.add(originalPost);
-		if (jsonArray != null && jsonArray.length() > 0) {
-			String threadNumber = originalPost.getPostNumber();
-			for (int i = 0; i < jsonArray.length(); i++) {
-				posts.add(createPost(jsonArray.getJSONObject(i), locator, threadNumber));
-			}
+		for (Post post : extra.posts) {
+			post.setParentPostNumber(threadNumber);
+			post.setComment(fixComment(post.getComment(), threadNumber));
+			posts.add(post);
 		}
-		return new Posts(posts);
+		Posts thread = new Posts(posts);
+		if (addPostsCount) {
+			thread.addPostsCount(extra.omittedPosts + posts.size());
+		}
+		return thread;
 	}
 
-	public static Posts[] createThreads(JSONArray jsonArray, EndchanChanLocator locator) throws JSONException,
-			ParseException {
-		if (jsonArray != null && jsonArray.length() > 0) {
-			Posts[] threads = new Posts[jsonArray.length()];
-			for (int i = 0; i < jsonArray.length(); i++) {
-				JSONObject jsonObject = jsonArray.getJSONObject(i);
-				Posts posts = createPosts(jsonArray.getJSONObject(i), locator);
-				posts.addPostsCount(jsonObject.optInt("ommitedPosts") + posts.getPosts().length);
-				threads[i] = posts;
-			}
-			return threads;
+	public static List<Posts> createThreads(JsonSerial.Reader reader, EndchanChanLocator locator)
+			throws IOException, ParseException {
+		ArrayList<Posts> threads = new ArrayList<>();
+		reader.startArray();
+		while (!reader.endStruct()) {
+			threads.add(createPosts(reader, locator, true));
 		}
-		return null;
+		return threads;
 	}
 }
@@ -0,0 +1,149 @@
+package com.mishiranu.dashchan.chan.endchan;
+
+import android.util.Base64;
+import chan.content.ChanPerformer;
+import chan.http.RequestEntity;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import org.json.JSONObject;
+
+// JSON body is written straight to the connection, files are encoded in place while sending.
+// Top-level object is closed on write, so fields can be added to it until then.
+public class EndchanPostEntity implements RequestEntity {
+	private static final int BUFFER_SIZE = 3 * 8192;
+	private static final byte[] OBJECT_END = {'}'};
+
+	private static class Part {
+		public final byte[] text;
+		public final ChanPerformer.SendPostData.Attachment attachment;
+
+		public Part(byte[] text, ChanPerformer.SendPostData.Attachment attachment) {
+			this.text = text;
+			this.attachment = attachment;
+		}
+	}
+
+	public static class Builder {
+		private final ArrayList<Part> parts = new ArrayList<>();
+		private final StringBuilder builder = new StringBuilder();
+
+		public Builder append(char c) {
+			builder.append(c);
+			return this;
+		}
+
+		public Builder append(String s) {
+			builder.append(s);
+			return this;
+		}
+
+		public int length() {
+			return builder.length();
+		}
+
+		public char lastChar() {
+			return builder.length() > 0 ? builder.charAt(builder.length() - 1) : '\0';
+		}
+
+		public Builder appendFileBase64(ChanPerformer.SendPostData.Attachment attachment) {
+			flush();
+			parts.add(new Part(null, attachment));
+			return this;
+		}
+
+		private void flush() {
+			if (builder.length() > 0) {
+				parts.add(new Part(builder.toString().getBytes(StandardCharsets.UTF_8), null));
+				builder.setLength(0);
+			}
+		}
+
+		public EndchanPostEntity build() {
+			if (lastChar() != '}') {
+				throw new IllegalStateException("JSON object expected");
+			}
+			builder.setLength(builder.length() - 1);
+			boolean hasFields = parts.size() > 0 || builder.length() > 1;
+			flush();
+			return new EndchanPostEntity(new ArrayList<>(parts), hasFields);
+		}
+	}
+
+	private final ArrayList<Part> parts;
+	private boolean hasFields;
+
+	private EndchanPostEntity(ArrayList<Part> parts, boolean hasFields) {
+		this.parts = parts;
+		this.hasFields = hasFields;
+	}
+
+	@Override
+	public void add(String name, String value) {
+		StringBuilder builder = new StringBuilder();
+		if (hasFields) {
+			builder.append(',');
+		}
+		builder.append(JSONObject.quote(name)).append(':').append(JSONObject.quote(value));
+		parts.add(new Part(builder.toString().getBytes(StandardCharsets.UTF_8), null));
+		hasFields = true;
+	}
+
+	@Override
+	public String getContentType() {
+		return "application/json; charset=utf-8";
+	}
+
+	@Override
+	public long getContentLength() {
+		long length = OBJECT_END.length;
+		for (Part part : parts) {
+			if (part.text != null) {
+				length += part.text.length;
+			} else {
+				length += (part.attachment.getSize() + 2) / 3 * 4;
+			}
+		}
+		return length;
+	}
+
+	@Override
+	public void write(OutputStream output) throws IOException {
+		for (Part part : parts) {
+			if (part.text != null) {
+				output.write(part.text);
+			} else {
+				writeFileBase64(output, part.attachment);
+			}
+		}
+		output.write(OBJECT_END);
+	}
+
+	private static void writeFileBase64(OutputStream output, ChanPerformer.SendPostData.Attachment attachment)
+			throws IOException {
+		// Buffer size is a multiple of 3, so encoded chunks can be concatenated without padding
+		byte[] buffer = new byte[BUFFER_SIZE];
+		try (InputStream inputStream = attachment.openInputSteam()) {
+			int filled = 0;
+			int count;
+			while ((count = inputStream.read(buffer, filled, buffer.length - filled)) >= 0) {
+				filled += count;
+				if (filled == buffer.length) {
+					output.write(Base64.encode(buffer, 0, filled, Base64.NO_WRAP));
+					filled = 0;
+				}
+			}
+			if (filled > 0) {
+				output.write(Base64.encode(buffer, 0, filled, Base64.NO_WRAP));
+			}
+		}
+	}
+
+	@Override
+	public RequestEntity copy() {
+		// Parts are immutable and files are opened again on each write
+		return new EndchanPostEntity(new ArrayList<>(parts), hasFields);
+	}
+}
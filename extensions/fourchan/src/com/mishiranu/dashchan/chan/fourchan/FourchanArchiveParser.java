@@ -0,0 +1,65 @@
+package com.mishiranu.dashchan.chan.fourchan;
+
+import chan.content.model.ThreadSummary;
+import chan.text.ParseException;
+import chan.text.TemplateParser;
+import chan.util.StringUtils;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.List;
+
+public class FourchanArchiveParser {
+	private final String boardName;
+	private final ArrayList<ThreadSummary> threadSummaries = new ArrayList<>();
+
+	private boolean expectThreadNumber;
+	private boolean expectTeaser;
+	private String threadNumber;
+
+	public FourchanArchiveParser(String boardName) {
+		this.boardName = boardName;
+	}
+
+	public List<ThreadSummary> parse(InputStream input) throws IOException, ParseException {
+		PARSER.parse(new InputStreamReader(input), this);
+		return threadSummaries;
+	}
+
+	private static final TemplateParser<FourchanArchiveParser> PARSER = TemplateParser
+			.<FourchanArchiveParser>builder()
+			.name("tr")
+			.open((instance, holder, tagName, attributes) -> {
+				holder.expectThreadNumber = true;
+				holder.threadNumber = null;
+				return false;
+			})
+			.name("td")
+			.open((instance, holder, tagName, attributes) -> {
+				// Row is "<td>number</td><td class="teaser-col">teaser</td>..."
+				if (holder.expectThreadNumber) {
+					holder.expectThreadNumber = false;
+					holder.expectTeaser = false;
+					return true;
+				} else if (holder.threadNumber != null && "teaser-col".equals(attributes.get("class"))) {
+					holder.expectTeaser = true;
+					return true;
+				}
+				return false;
+			})
+			.content((instance, holder, text) -> {
+				if (holder.expectTeaser) {
+					holder.threadSummaries.add(new ThreadSummary(holder.boardName, holder.threadNumber,
+							StringUtils.clearHtml(text)));
+					holder.threadNumber = null;
+					holder.expectTeaser = false;
+				} else {
+					text = text.trim();
+					if (text.matches("\\d+")) {
+						holder.threadNumber = text;
+					}
+				}
+			})
+			.prepare();
+}
@@ -24,11 +24,13 @@ public class FourchanChanConfiguration extends ChanConfiguration {
 	private static final String KEY_MAX_COMMENT_LENGTH = "max_comment_length";
 	private static final String KEY_SAFE_FOR_WORK = "safe_for_work";
 	private static final String KEY_REPORT_REASONS = "report_reasons";
+	private static final String KEY_REPORT_REASONS_UPDATE_TIME = "report_reasons_update_time";
 
 	private static final String KEY_MATH_TAGS = "math_tags";
 
 	public FourchanChanConfiguration() {
 		request(OPTION_READ_THREAD_PARTIALLY);
+		request(OPTION_READ_POSTS_COUNT);
 		request(OPTION_ALLOW_CAPTCHA_PASS);
 		setDefaultName("Anonymous");
 		setBumpLimit(300);
@@ -258,7 +260,16 @@ public class FourchanChanConfiguration extends ChanConfiguration {
 		return null;
 	}
 
-	public void updateReportingConfiguration(String boardName, List<ReportReason> reportReasons) {
+	public long getReportingConfigurationUpdateTime(String boardName) {
+		try {
+			return Long.parseLong(get(boardName, KEY_REPORT_REASONS_UPDATE_TIME, "0"));
+		} catch (NumberFormatException e) {
+			return 0;
+		}
+	}
+
+	public void updateReportingConfiguration(String boardName, List<ReportReason> reportReasons, long time) {
 		set(boardName, KEY_REPORT_REASONS, ReportReason.serialize(reportReasons));
+		set(boardName, KEY_REPORT_REASONS_UPDATE_TIME, Long.toString(time));
 	}
 }
@@ -12,7 +12,6 @@ import chan.content.model.Board;
 import chan.content.model.BoardCategory;
 import chan.content.model.Post;
 import chan.content.model.Posts;
-import chan.content.model.ThreadSummary;
 import chan.http.CookieBuilder;
 import chan.http.HttpException;
 import chan.http.HttpRequest;
@@ -53,15 +52,15 @@ public class FourchanChanPerformer extends ChanPerformer {
 
 	private static final String COOKIE_FOURCHAN_PASS = "4chan_pass";
 
-	private final HashMap<String, Long> lastRulesUpdate = new HashMap<>();
+	private static final int RULES_UPDATE_INTERVAL = 24 * 60 * 60 * 1000;
 
-	private void updateBoardRules(HttpRequest.Preset preset,
-			String boardName, List<Posts> threads) throws HttpException {
-		Long update;
-		synchronized (lastRulesUpdate) {
-			update = lastRulesUpdate.get(boardName);
-		}
-		if (update != null && update + 24 * 60 * 60 * 1000 > SystemClock.elapsedRealtime()) {
+	private final HashSet<String> rulesUpdates = new HashSet<>();
+
+	private void requestBoardRulesUpdate(HttpRequest.Preset preset, String boardName, List<Posts> threads) {
+		FourchanChanConfiguration configuration = FourchanChanConfiguration.get(this);
+		long time = System.currentTimeMillis();
+		long update = configuration.getReportingConfigurationUpdateTime(boardName);
+		if (update <= time && update + RULES_UPDATE_INTERVAL > time) {
 			return;
 		}
 		String postNumber = null;
@@ -71,30 +70,44 @@ public class FourchanChanPerformer extends ChanPerformer {
 				postNumber = post.getPostNumber();
 			}
 		}
-		HttpResponse response = null;
-		if (postNumber != null) {
-			FourchanChanLocator locator = FourchanChanLocator.get(this);
-			Uri uri = locator.createSysUri(boardName, "imgboard.php").buildUpon()
-					.appendQueryParameter("mode", "report").appendQueryParameter("no", postNumber).build();
-			response = new HttpRequest(uri, preset).setSuccessOnly(false)
-					.perform();
+		if (postNumber == null) {
+			return;
 		}
-		List<ReportReason> reportReasons = Collections.emptyList();
-		if (response != null) {
-			try (InputStream input = response.open()) {
-				reportReasons = new FourchanRulesParser().parse(input);
-			} catch (ParseException e) {
-				// Ignore
-			} catch (IOException e) {
-				throw response.fail(e);
+		synchronized (rulesUpdates) {
+			if (!rulesUpdates.add(boardName)) {
+				return;
 			}
 		}
-		if (!reportReasons.isEmpty()) {
-			synchronized (lastRulesUpdate) {
-				lastRulesUpdate.put(boardName, SystemClock.elapsedRealtime());
+		// Preset is only valid during the board request, a failed refresh doesn't fail the board
+		try {
+			updateBoardRules(preset, boardName, postNumber);
+		} catch (HttpException e) {
+			// Ignore exception
+		} finally {
+			synchronized (rulesUpdates) {
+				rulesUpdates.remove(boardName);
 			}
+		}
+	}
+
+	private void updateBoardRules(HttpRequest.Preset preset, String boardName, String postNumber)
+			throws HttpException {
+		FourchanChanLocator locator = FourchanChanLocator.get(this);
+		Uri uri = locator.createSysUri(boardName, "imgboard.php").buildUpon()
+				.appendQueryParameter("mode", "report").appendQueryParameter("no", postNumber).build();
+		HttpResponse response = new HttpRequest(uri, preset).setSuccessOnly(false)
+				.perform();
+		List<ReportReason> reportReasons = Collections.emptyList();
+		try (InputStream input = response.open()) {
+			reportReasons = new FourchanRulesParser().parse(input);
+		} catch (ParseException e) {
+			// Ignore
+		} catch (IOException e) {
+			throw response.fail(e);
+		}
+		if (!reportReasons.isEmpty()) {
 			FourchanChanConfiguration configuration = FourchanChanConfiguration.get(this);
-			configuration.updateReportingConfiguration(boardName, reportReasons);
+			configuration.updateReportingConfiguration(boardName, reportReasons, System.currentTimeMillis());
 		}
 	}
 
@@ -157,7 +170,7 @@ public class FourchanChanPerformer extends ChanPerformer {
 			throw response.fail(e);
 		}
 		if (data.pageNumber == 0) {
-			updateBoardRules(data, data.boardName, threads);
+			requestBoardRulesUpdate(data, data.boardName, threads);
 		}
 		return new ReadThreadsResult(threads).setValidator(validator);
 	}
@@ -260,6 +273,141 @@ public class FourchanChanPerformer extends ChanPerformer {
 		}
 	}
 
+	private static final int BOARD_THREADS_REUSE_INTERVAL = 10 * 1000;
+
+	private static class BoardThreads {
+		public HashMap<String, Integer> replies;
+		public HttpValidator validator;
+		public long updateTime;
+	}
+
+	private final HashMap<String, BoardThreads> boardThreads = new HashMap<>();
+
+	// One threads.json request answers posts count requests for all watched threads of the board
+	private Integer readBoardThreadReplies(HttpRequest.Preset preset, String boardName, String threadNumber)
+			throws HttpException, InvalidResponseException {
+		BoardThreads threads;
+		synchronized (boardThreads) {
+			threads = boardThreads.get(boardName);
+			if (threads == null) {
+				threads = new BoardThreads();
+				boardThreads.put(boardName, threads);
+			}
+		}
+		synchronized (threads) {
+			long time = SystemClock.elapsedRealtime();
+			if (threads.replies == null || time >= threads.updateTime + BOARD_THREADS_REUSE_INTERVAL) {
+				FourchanChanLocator locator = FourchanChanLocator.get(this);
+				Uri uri = locator.createApiUri(boardName, "threads.json");
+				HttpResponse response = new HttpRequest(uri, preset)
+						.setValidator(threads.replies != null ? threads.validator : null)
+						.setSuccessOnly(false).perform();
+				if (response.getResponseCode() != HttpURLConnection.HTTP_NOT_MODIFIED || threads.replies == null) {
+					response.checkResponseCode();
+					HashMap<String, Integer> replies = new HashMap<>();
+					try (InputStream input = response.open();
+							JsonSerial.Reader reader = JsonSerial.reader(input)) {
+						reader.startArray();
+						while (!reader.endStruct()) {
+							reader.startObject();
+							while (!reader.endStruct()) {
+								switch (reader.nextName()) {
+									case "threads": {
+										reader.startArray();
+										while (!reader.endStruct()) {
+											String number = null;
+											int count = 0;
+											reader.startObject();
+											while (!reader.endStruct()) {
+												switch (reader.nextName()) {
+													case "no": {
+														number = reader.nextString();
+														break;
+													}
+													case "replies": {
+														count = reader.nextInt();
+														break;
+													}
+													default: {
+														reader.skip();
+														break;
+													}
+												}
+											}
+											if (number != null) {
+												replies.put(number, count);
+											}
+										}
+										break;
+									}
+									default: {
+										reader.skip();
+										break;
+									}
+								}
+							}
+						}
+					} catch (ParseException e) {
+						throw new InvalidResponseException(e);
+					} catch (IOException e) {
+						throw response.fail(e);
+					}
+					threads.replies = replies;
+					threads.validator = response.getValidator();
+				}
+				threads.updateTime = time;
+			}
+			return threads.replies.get(threadNumber);
+		}
+	}
+
+	@SuppressWarnings("SwitchStatementWithTooFewBranches")
+	@Override
+	public ReadPostsCountResult onReadPostsCount(ReadPostsCountData data) throws HttpException,
+			InvalidResponseException {
+		Integer replies = readBoardThreadReplies(data, data.boardName, data.threadNumber);
+		if (replies != null) {
+			return new ReadPostsCountResult(replies + 1);
+		}
+		// Archived threads are not listed in threads.json, original post in tail holds replies count
+		FourchanChanLocator locator = FourchanChanLocator.get(this);
+		Uri uri = locator.createApiUri(data.boardName, "thread", data.threadNumber + "-tail.json");
+		HttpResponse response = new HttpRequest(uri, data).perform();
+		try (InputStream input = response.open();
+				JsonSerial.Reader reader = JsonSerial.reader(input)) {
+			reader.startObject();
+			while (!reader.endStruct()) {
+				switch (reader.nextName()) {
+					case "posts": {
+						reader.startArray();
+						reader.startObject();
+						while (!reader.endStruct()) {
+							switch (reader.nextName()) {
+								case "replies": {
+									return new ReadPostsCountResult(reader.nextInt() + 1);
+								}
+								default: {
+									reader.skip();
+									break;
+								}
+							}
+						}
+						throw new InvalidResponseException();
+					}
+					default: {
+						reader.skip();
+						break;
+					}
+				}
+			}
+			throw new InvalidResponseException();
+		} catch (ParseException e) {
+			throw new InvalidResponseException(e);
+		} catch (IOException e) {
+			throw response.fail(e);
+		}
+	}
+
 	@SuppressWarnings("SwitchStatementWithTooFewBranches")
 	@Override
 	public ReadSearchPostsResult onReadSearchPosts(ReadSearchPostsData data)
@@ -398,46 +546,108 @@ public class FourchanChanPerformer extends ChanPerformer {
 		}
 	}
 
-	private static final Pattern PATTERN_ARCHIVED_THREAD = Pattern.compile("<tr><td>(\\d+)</td>.*?" +
-			"<td class=\"teaser-col\">(.*?)</td>");
-
 	@Override
 	public ReadThreadSummariesResult onReadThreadSummaries(ReadThreadSummariesData data) throws HttpException,
 			InvalidResponseException {
 		if (data.type == ReadThreadSummariesData.TYPE_ARCHIVED_THREADS) {
 			FourchanChanLocator locator = FourchanChanLocator.get(this);
 			Uri uri = locator.createBoardUri(data.boardName, 0).buildUpon().appendPath("archive").build();
-			String responseText = new HttpRequest(uri, data).perform().readString();
-			ArrayList<ThreadSummary> threadSummaries = new ArrayList<>();
-			Matcher matcher = PATTERN_ARCHIVED_THREAD.matcher(responseText);
-			while (matcher.find()) {
-				threadSummaries.add(new ThreadSummary(data.boardName, matcher.group(1),
-						StringUtils.clearHtml(matcher.group(2))));
-			}
-			return new ReadThreadSummariesResult(threadSummaries);
+			HttpResponse response = new HttpRequest(uri, data).perform();
+			try (InputStream input = response.open()) {
+				return new ReadThreadSummariesResult(new FourchanArchiveParser(data.boardName).parse(input));
+			} catch (ParseException e) {
+				throw new InvalidResponseException(e);
+			} catch (IOException e) {
+				throw response.fail(e);
+			}
 		} else {
 			return super.onReadThreadSummaries(data);
 		}
 	}
 
+	private static class PendingMath {
+		private boolean completed;
+		private byte[] image;
+	}
+
+	private final HashMap<String, PendingMath> pendingMath = new HashMap<>();
+
+	private byte[] readMathImage(String mathData, HttpRequest.Preset preset) throws HttpException,
+			InvalidResponseException {
+		// Concurrent reads of the same formula are served by a single upstream request,
+		// rendered images are kept by the app's own content cache
+		byte[] image = null;
+		PendingMath pending;
+		boolean owner = false;
+		synchronized (pendingMath) {
+			pending = pendingMath.get(mathData);
+			if (pending == null) {
+				pending = new PendingMath();
+				pendingMath.put(mathData, pending);
+				owner = true;
+			}
+		}
+		if (owner) {
+			try {
+				image = renderMathImage(mathData, preset);
+				return image;
+			} finally {
+				synchronized (pendingMath) {
+					pendingMath.remove(mathData);
+				}
+				synchronized (pending) {
+					pending.completed = true;
+					pending.image = image;
+					pending.notifyAll();
+				}
+			}
+		} else {
+			synchronized (pending) {
+				try {
+					while (!pending.completed) {
+						pending.wait();
+					}
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					throw new InvalidResponseException(e);
+				}
+				if (pending.image != null) {
+					return pending.image;
+				}
+			}
+			// Shared request failed, the error might be specific to that request
+			return renderMathImage(mathData, preset);
+		}
+	}
+
+	private byte[] renderMathImage(String mathData, HttpRequest.Preset preset) throws HttpException,
+			InvalidResponseException {
+		FourchanChanLocator locator = FourchanChanLocator.get(this);
+		Uri uri = locator.buildPathWithHost("quicklatex.com", "latex3.f");
+		SimpleEntity entity = new SimpleEntity();
+		entity.setData("formula=" + mathData.replace("%", "%25").replace("&", "%26") + "&fsize=60px&" +
+				"fcolor=000000&mode=0&out=1&remhost=quicklatex.com&preamble=\\usepackage{amsmath}\n" +
+				"\\usepackage{amsfonts}\n\\usepackage{amssymb}");
+		entity.setContentType("application/x-www-form-urlencoded");
+		String responseText = new HttpRequest(uri, preset).setPostMethod(entity).perform().readString();
+		String[] splitted = responseText.split("\r?\n| ");
+		if (splitted.length >= 2 && "0".equals(splitted[0])) {
+			uri = Uri.parse(splitted[1]);
+			byte[] image = new HttpRequest(uri, preset).perform().readBytes();
+			if (image == null || image.length == 0) {
+				throw new InvalidResponseException();
+			}
+			return image;
+		}
+		throw HttpException.createNotFoundException();
+	}
+
 	@Override
 	public ReadContentResult onReadContent(ReadContentData data) throws HttpException, InvalidResponseException {
 		FourchanChanLocator locator = FourchanChanLocator.get(this);
 		String mathData = locator.extractMathData(data.uri);
 		if (mathData != null) {
-			Uri uri = locator.buildPathWithHost("quicklatex.com", "latex3.f");
-			SimpleEntity entity = new SimpleEntity();
-			entity.setData("formula=" + mathData.replace("%", "%25").replace("&", "%26") + "&fsize=60px&" +
-					"fcolor=000000&mode=0&out=1&remhost=quicklatex.com&preamble=\\usepackage{amsmath}\n" +
-					"\\usepackage{amsfonts}\n\\usepackage{amssymb}");
-			entity.setContentType("application/x-www-form-urlencoded");
-			String responseText = new HttpRequest(uri, data).setPostMethod(entity).perform().readString();
-			String[] splitted = responseText.split("\r?\n| ");
-			if (splitted.length >= 2 && "0".equals(splitted[0])) {
-				uri = Uri.parse(splitted[1]);
-				return new ReadContentResult(new HttpRequest(uri, data).perform());
-			}
-			throw HttpException.createNotFoundException();
+			return new ReadContentResult(new HttpResponse(readMathImage(mathData, data)));
 		}
 		return super.onReadContent(data);
 	}
@@ -0,0 +1,501 @@
+package com.mishiranu.dashchan.chan.local;
+
+import android.net.Uri;
+import chan.content.ChanLocator;
+import chan.content.model.FileAttachment;
+import chan.content.model.Post;
+import chan.content.model.Posts;
+import chan.text.JsonSerial;
+import chan.text.ParseException;
+import chan.util.DataFile;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+
+public class LocalArchiveIndex {
+	private static final String FILE_NAME = ".index.json";
+	private static final int VERSION = 3;
+
+	public static class Attachment {
+		public String file;
+		public String thumbnail;
+		public String originalName;
+		public int size;
+		public int width;
+		public int height;
+	}
+
+	public static class Icon {
+		public String src;
+		public String title;
+	}
+
+	public static class Entry {
+		public final String threadNumber;
+		public final long lastModified;
+
+		public String postNumber;
+		public String name;
+		public String identifier;
+		public String tripcode;
+		public String capcode;
+		public String email;
+		public String subject;
+		public String comment;
+		public long timestamp;
+		public boolean defaultName;
+		public boolean sage;
+		public boolean originalPoster;
+		public final ArrayList<Attachment> attachments = new ArrayList<>();
+		public final ArrayList<Icon> icons = new ArrayList<>();
+
+		public int postsCount;
+		public int filesCount;
+
+		public Entry(String threadNumber, long lastModified) {
+			this.threadNumber = threadNumber;
+			this.lastModified = lastModified;
+		}
+
+		// Only the original post is stored, it's all the thread list shows
+		public static Entry from(ChanLocator locator, String threadNumber, long lastModified, Posts thread) {
+			Post[] posts = thread != null ? thread.getPosts() : null;
+			Post post = posts != null && posts.length > 0 ? posts[0] : null;
+			if (post == null) {
+				return null;
+			}
+			Entry entry = new Entry(threadNumber, lastModified);
+			entry.postNumber = post.getPostNumber();
+			entry.name = post.getName();
+			entry.identifier = post.getIdentifier();
+			entry.tripcode = post.getTripcode();
+			entry.capcode = post.getCapcode();
+			entry.email = post.getEmail();
+			entry.subject = post.getSubject();
+			entry.comment = post.getComment();
+			entry.timestamp = post.getTimestamp();
+			entry.defaultName = post.isDefaultName();
+			entry.sage = post.isSage();
+			entry.originalPoster = post.isOriginalPoster();
+			for (int i = 0; i < post.getAttachmentsCount(); i++) {
+				chan.content.model.Attachment postAttachment = post.getAttachmentAt(i);
+				if (postAttachment instanceof FileAttachment) {
+					FileAttachment fileAttachment = (FileAttachment) postAttachment;
+					Uri fileUri = fileAttachment.getFileUri(locator);
+					Uri thumbnailUri = fileAttachment.getThumbnailUri(locator);
+					Attachment attachment = new Attachment();
+					attachment.file = fileUri != null ? fileUri.toString() : null;
+					attachment.thumbnail = thumbnailUri != null ? thumbnailUri.toString() : null;
+					attachment.originalName = fileAttachment.getOriginalName();
+					attachment.size = fileAttachment.getSize();
+					attachment.width = fileAttachment.getWidth();
+					attachment.height = fileAttachment.getHeight();
+					entry.attachments.add(attachment);
+				}
+			}
+			for (int i = 0; i < post.getIconsCount(); i++) {
+				chan.content.model.Icon postIcon = post.getIconAt(i);
+				Uri uri = postIcon.getUri(locator);
+				Icon icon = new Icon();
+				icon.src = uri != null ? uri.toString() : null;
+				icon.title = postIcon.getTitle();
+				entry.icons.add(icon);
+			}
+			entry.postsCount = thread.getPostsCount();
+			entry.filesCount = thread.getFilesCount();
+			return entry;
+		}
+	}
+
+	private final HashMap<String, Entry> entries = new HashMap<>();
+	private List<String> threadNumbers;
+	private long[] threadsLastModified;
+	private long directoryLastModified;
+	private boolean loaded;
+	private boolean modified;
+
+	private static DataFile getFile(DataFile directory) {
+		return directory.getChild(FILE_NAME);
+	}
+
+	public synchronized Entry get(String threadNumber, long lastModified) {
+		Entry entry = entries.get(threadNumber);
+		return entry != null && entry.lastModified == lastModified ? entry : null;
+	}
+
+	public synchronized void put(Entry entry) {
+		entries.put(entry.threadNumber, entry);
+		modified = true;
+	}
+
+	public synchronized void remove(String threadNumber) {
+		if (entries.remove(threadNumber) != null) {
+			modified = true;
+		}
+		invalidateThreadNumbers();
+	}
+
+	// Rewritten files don't change the directory modification time, but they move to the top of the listing
+	public synchronized List<String> getThreadNumbers(DataFile directory, long directoryLastModified) {
+		if (threadNumbers == null || directoryLastModified == 0L
+				|| this.directoryLastModified != directoryLastModified) {
+			return null;
+		}
+		for (int i = 0; i < threadNumbers.size(); i++) {
+			if (directory.getChild(threadNumbers.get(i) + ".html").getLastModified() != threadsLastModified[i]) {
+				return null;
+			}
+		}
+		return threadNumbers;
+	}
+
+	public synchronized void setThreadNumbers(long directoryLastModified, List<String> threadNumbers,
+			long[] threadsLastModified) {
+		this.directoryLastModified = directoryLastModified;
+		this.threadNumbers = Collections.unmodifiableList(new ArrayList<>(threadNumbers));
+		this.threadsLastModified = threadsLastModified.clone();
+		entries.keySet().retainAll(new HashSet<>(threadNumbers));
+		modified = true;
+	}
+
+	public synchronized void invalidateThreadNumbers() {
+		if (threadNumbers != null) {
+			threadNumbers = null;
+			threadsLastModified = null;
+			directoryLastModified = 0L;
+			modified = true;
+		}
+	}
+
+	public synchronized void load(DataFile directory) {
+		if (loaded) {
+			return;
+		}
+		loaded = true;
+		try (InputStream input = getFile(directory).openInputStream();
+				JsonSerial.Reader reader = JsonSerial.reader(input)) {
+			String version = null;
+			long directoryLastModified = 0L;
+			List<String> threadNumbers = null;
+			List<Long> threadsLastModified = null;
+			List<Entry> entries = null;
+			reader.startObject();
+			while (!reader.endStruct()) {
+				switch (reader.nextName()) {
+					case "version": {
+						version = reader.nextString();
+						break;
+					}
+					case "modified": {
+						directoryLastModified = parseLong(reader.nextString());
+						break;
+					}
+					case "order": {
+						threadNumbers = new ArrayList<>();
+						reader.startArray();
+						while (!reader.endStruct()) {
+							threadNumbers.add(reader.nextString());
+						}
+						break;
+					}
+					case "order_modified": {
+						threadsLastModified = new ArrayList<>();
+						reader.startArray();
+						while (!reader.endStruct()) {
+							threadsLastModified.add(parseLong(reader.nextString()));
+						}
+						break;
+					}
+					case "threads": {
+						entries = readEntries(reader);
+						break;
+					}
+					default: {
+						reader.skip();
+						break;
+					}
+				}
+			}
+			if (Integer.toString(VERSION).equals(version)) {
+				if (threadNumbers != null && threadsLastModified != null
+						&& threadNumbers.size() == threadsLastModified.size()) {
+					this.directoryLastModified = directoryLastModified;
+					this.threadNumbers = Collections.unmodifiableList(threadNumbers);
+					this.threadsLastModified = new long[threadsLastModified.size()];
+					for (int i = 0; i < this.threadsLastModified.length; i++) {
+						this.threadsLastModified[i] = threadsLastModified.get(i);
+					}
+				}
+				if (entries != null) {
+					for (Entry entry : entries) {
+						this.entries.put(entry.threadNumber, entry);
+					}
+				}
+			}
+		} catch (IOException | ParseException e) {
+			// Index is missing or broken, it will be rebuilt from thread files
+		}
+	}
+
+	public synchronized void store(DataFile directory) {
+		if (!modified) {
+			return;
+		}
+		try (OutputStream output = getFile(directory).openOutputStream();
+				JsonSerial.Writer writer = JsonSerial.writer()) {
+			writer.startObject();
+			writer.name("version");
+			writer.value(Integer.toString(VERSION));
+			if (threadNumbers != null) {
+				writer.name("modified");
+				writer.value(Long.toString(directoryLastModified));
+				writer.name("order");
+				writer.startArray();
+				for (String threadNumber : threadNumbers) {
+					writer.value(threadNumber);
+				}
+				writer.endArray();
+				writer.name("order_modified");
+				writer.startArray();
+				for (long lastModified : threadsLastModified) {
+					writer.value(Long.toString(lastModified));
+				}
+				writer.endArray();
+			}
+			writer.name("threads");
+			writer.startArray();
+			for (Entry entry : entries.values()) {
+				writeEntry(writer, entry);
+			}
+			writer.endArray();
+			writer.endObject();
+			output.write(writer.build());
+			modified = false;
+		} catch (IOException e) {
+			// Keep index in memory, try to store it next time
+		}
+	}
+
+	private static void writeString(JsonSerial.Writer writer, String name, String value) throws IOException {
+		if (value != null) {
+			writer.name(name);
+			writer.value(value);
+		}
+	}
+
+	private static void writeInt(JsonSerial.Writer writer, String name, int value) throws IOException {
+		if (value != 0) {
+			writer.name(name);
+			writer.value(Integer.toString(value));
+		}
+	}
+
+	private static void writeFlag(JsonSerial.Writer writer, String name, boolean value) throws IOException {
+		if (value) {
+			writer.name(name);
+			writer.value("1");
+		}
+	}
+
+	private static void writeEntry(JsonSerial.Writer writer, Entry entry) throws IOException {
+		writer.startObject();
+		writeString(writer, "number", entry.threadNumber);
+		writeString(writer, "modified", Long.toString(entry.lastModified));
+		writeString(writer, "post_number", entry.postNumber);
+		writeString(writer, "name", entry.name);
+		writeString(writer, "identifier", entry.identifier);
+		writeString(writer, "tripcode", entry.tripcode);
+		writeString(writer, "capcode", entry.capcode);
+		writeString(writer, "email", entry.email);
+		writeString(writer, "subject", entry.subject);
+		writeString(writer, "comment", entry.comment);
+		writeString(writer, "timestamp", entry.timestamp != 0L ? Long.toString(entry.timestamp) : null);
+		writeFlag(writer, "default_name", entry.defaultName);
+		writeFlag(writer, "sage", entry.sage);
+		writeFlag(writer, "op", entry.originalPoster);
+		if (!entry.attachments.isEmpty()) {
+			writer.name("files");
+			writer.startArray();
+			for (Attachment attachment : entry.attachments) {
+				writer.startObject();
+				writeString(writer, "file", attachment.file);
+				writeString(writer, "thumbnail", attachment.thumbnail);
+				writeString(writer, "original_name", attachment.originalName);
+				writeInt(writer, "size", attachment.size);
+				writeInt(writer, "width", attachment.width);
+				writeInt(writer, "height", attachment.height);
+				writer.endObject();
+			}
+			writer.endArray();
+		}
+		if (!entry.icons.isEmpty()) {
+			writer.name("icons");
+			writer.startArray();
+			for (Icon icon : entry.icons) {
+				writer.startObject();
+				writeString(writer, "src", icon.src);
+				writeString(writer, "title", icon.title);
+				writer.endObject();
+			}
+			writer.endArray();
+		}
+		writeInt(writer, "posts_count", entry.postsCount);
+		writeInt(writer, "files_count", entry.filesCount);
+		writer.endObject();
+	}
+
+	private static long parseLong(String value) {
+		try {
+			return value != null ? Long.parseLong(value) : 0L;
+		} catch (NumberFormatException e) {
+			// Entry will be refreshed
+			return 0L;
+		}
+	}
+
+	private static int parseInt(String value) {
+		try {
+			return value != null ? Integer.parseInt(value) : 0;
+		} catch (NumberFormatException e) {
+			return 0;
+		}
+	}
+
+	private static List<Entry> readEntries(JsonSerial.Reader reader) throws IOException, ParseException {
+		ArrayList<Entry> entries = new ArrayList<>();
+		reader.startArray();
+		while (!reader.endStruct()) {
+			Entry entry = readEntry(reader);
+			if (entry != null) {
+				entries.add(entry);
+			}
+		}
+		return entries;
+	}
+
+	private static Entry readEntry(JsonSerial.Reader reader) throws IOException, ParseException {
+		String threadNumber = null;
+		long lastModified = 0L;
+		HashMap<String, String> values = new HashMap<>();
+		ArrayList<Attachment> attachments = new ArrayList<>();
+		ArrayList<Icon> icons = new ArrayList<>();
+		reader.startObject();
+		while (!reader.endStruct()) {
+			String name = reader.nextName();
+			switch (name) {
+				case "number": {
+					threadNumber = reader.nextString();
+					break;
+				}
+				case "modified": {
+					lastModified = parseLong(reader.nextString());
+					break;
+				}
+				case "files": {
+					reader.startArray();
+					while (!reader.endStruct()) {
+						attachments.add(readAttachment(reader));
+					}
+					break;
+				}
+				case "icons": {
+					reader.startArray();
+					while (!reader.endStruct()) {
+						icons.add(readIcon(reader));
+					}
+					break;
+				}
+				default: {
+					values.put(name, reader.nextString());
+					break;
+				}
+			}
+		}
+		if (threadNumber == null) {
+			return null;
+		}
+		Entry entry = new Entry(threadNumber, lastModified);
+		entry.postNumber = values.get("post_number");
+		entry.name = values.get("name");
+		entry.identifier = values.get("identifier");
+		entry.tripcode = values.get("tripcode");
+		entry.capcode = values.get("capcode");
+		entry.email = values.get("email");
+		entry.subject = values.get("subject");
+		entry.comment = values.get("comment");
+		entry.timestamp = parseLong(values.get("timestamp"));
+		entry.defaultName = values.containsKey("default_name");
+		entry.sage = values.containsKey("sage");
+		entry.originalPoster = values.containsKey("op");
+		entry.attachments.addAll(attachments);
+		entry.icons.addAll(icons);
+		entry.postsCount = parseInt(values.get("posts_count"));
+		entry.filesCount = parseInt(values.get("files_count"));
+		return entry;
+	}
+
+	private static Attachment readAttachment(JsonSerial.Reader reader) throws IOException, ParseException {
+		Attachment attachment = new Attachment();
+		reader.startObject();
+		while (!reader.endStruct()) {
+			switch (reader.nextName()) {
+				case "file": {
+					attachment.file = reader.nextString();
+					break;
+				}
+				case "thumbnail": {
+					attachment.thumbnail = reader.nextString();
+					break;
+				}
+				case "original_name": {
+					attachment.originalName = reader.nextString();
+					break;
+				}
+				case "size": {
+					attachment.size = parseInt(reader.nextString());
+					break;
+				}
+				case "width": {
+					attachment.width = parseInt(reader.nextString());
+					break;
+				}
+				case "height": {
+					attachment.height = parseInt(reader.nextString());
+					break;
+				}
+				default: {
+					reader.skip();
+					break;
+				}
+			}
+		}
+		return attachment;
+	}
+
+	private static Icon readIcon(JsonSerial.Reader reader) throws IOException, ParseException {
+		Icon icon = new Icon();
+		reader.startObject();
+		while (!reader.endStruct()) {
+			switch (reader.nextName()) {
+				case "src": {
+					icon.src = reader.nextString();
+					break;
+				}
+				case "title": {
+					icon.title = reader.nextString();
+					break;
+				}
+				default: {
+					reader.skip();
+					break;
+				}
+			}
+		}
+		return icon;
+	}
+}
@@ -1,5 +1,6 @@
 package com.mishiranu.dashchan.chan.local;
 
+import android.util.Pair;
 import chan.content.ApiException;
 import chan.content.ChanConfiguration;
 import chan.content.ChanPerformer;
@@ -18,10 +19,12 @@ import java.util.Comparator;
 import java.util.List;
 
 public class LocalChanPerformer extends ChanPerformer {
-	private static final Comparator<DataFile> LAST_MODIFIED_COMPARATOR =
-			(lhs, rhs) -> Long.compare(rhs.getLastModified(), lhs.getLastModified());
+	private static final Comparator<Pair<DataFile, Long>> LAST_MODIFIED_COMPARATOR =
+			(lhs, rhs) -> Long.compare(rhs.second, lhs.second);
 	private static final int THREADS_PER_PAGE = 20;
 
+	private final LocalArchiveIndex index = new LocalArchiveIndex();
+
 	@Override
 	public ReadThreadsResult onReadThreads(ReadThreadsData data) throws HttpException {
 		LocalChanConfiguration configuration = ChanConfiguration.get(this);
@@ -29,28 +32,53 @@ public class LocalChanPerformer extends ChanPerformer {
 		ArrayList<Posts> threads = new ArrayList<>();
 		int from = THREADS_PER_PAGE * data.pageNumber;
 		int to = from + THREADS_PER_PAGE;
-		int current = 0;
 		DataFile localDownloadDirectory = configuration.getLocalDownloadDirectory();
-		List<DataFile> files = localDownloadDirectory.getChildren();
-		if (files != null) {
-			Collections.sort(files, LAST_MODIFIED_COMPARATOR);
-			for (DataFile file : files) {
-				String name = file.getName();
-				if (!file.isDirectory() && name.endsWith(".html")) {
-					if (current >= from && current < to) {
-						String threadNumber = name.substring(0, name.length() - 5);
-						try (InputStream input = file.openInputStream()) {
-							threads.add(new LocalPostsParser(this, threadNumber).convertThread(input));
-						} catch (IOException | ParseException e) {
-							// Ignore
-						}
-						if (thread.isInterrupted()) {
-							return null;
-						}
+		index.load(localDownloadDirectory);
+		long directoryLastModified = localDownloadDirectory.getLastModified();
+		List<String> threadNumbers = index.getThreadNumbers(localDownloadDirectory, directoryLastModified);
+		if (threadNumbers == null) {
+			List<DataFile> files = localDownloadDirectory.getChildren();
+			if (files != null) {
+				ArrayList<Pair<DataFile, Long>> threadFiles = new ArrayList<>();
+				for (DataFile file : files) {
+					if (!file.isDirectory() && file.getName().endsWith(".html")) {
+						threadFiles.add(new Pair<>(file, file.getLastModified()));
 					}
-					current++;
+				}
+				Collections.sort(threadFiles, LAST_MODIFIED_COMPARATOR);
+				ArrayList<String> newThreadNumbers = new ArrayList<>(threadFiles.size());
+				long[] threadsLastModified = new long[threadFiles.size()];
+				for (int i = 0; i < threadFiles.size(); i++) {
+					String name = threadFiles.get(i).first.getName();
+					newThreadNumbers.add(name.substring(0, name.length() - 5));
+					threadsLastModified[i] = threadFiles.get(i).second;
+				}
+				index.setThreadNumbers(directoryLastModified, newThreadNumbers, threadsLastModified);
+				threadNumbers = newThreadNumbers;
+			}
+		}
+		if (threadNumbers != null) {
+			for (int i = from; i < Math.min(to, threadNumbers.size()); i++) {
+				String threadNumber = threadNumbers.get(i);
+				DataFile file = localDownloadDirectory.getChild(threadNumber + ".html");
+				long lastModified = file.getLastModified();
+				LocalArchiveIndex.Entry entry = index.get(threadNumber, lastModified);
+				if (entry == null) {
+					try (InputStream input = file.openInputStream()) {
+						entry = new LocalPostsParser(this, threadNumber).convertIndexEntry(input, lastModified);
+						index.put(entry);
+					} catch (IOException | ParseException e) {
+						// Ignore
+					}
+				}
+				if (entry != null) {
+					threads.add(new LocalPostsParser(this, threadNumber).convertThread(entry));
+				}
+				if (thread.isInterrupted()) {
+					return null;
 				}
 			}
+			index.store(localDownloadDirectory);
 		}
 		if (threads.size() == 0) {
 			if (data.pageNumber == 0) {
@@ -120,6 +148,8 @@ public class LocalChanPerformer extends ChanPerformer {
 		removeDirectory(localDownloadDirectory.getChild(data.threadNumber));
 		if (!Thread.currentThread().isInterrupted()) {
 			file.delete();
+			index.remove(data.threadNumber);
+			index.store(localDownloadDirectory);
 		}
 		return null;
 	}
@@ -58,6 +58,54 @@ public class LocalPostsParser implements GroupParser.Callback {
 		return new Posts(post).addPostsCount(postsCount).addFilesCount(filesCount);
 	}
 
+	public LocalArchiveIndex.Entry convertIndexEntry(InputStream input, long lastModified)
+			throws IOException, ParseException {
+		return LocalArchiveIndex.Entry.from(locator, threadNumber, lastModified, convertThread(input));
+	}
+
+	public Posts convertThread(LocalArchiveIndex.Entry entry) {
+		Post post = new Post();
+		post.setPostNumber(entry.postNumber);
+		post.setThreadNumber(threadNumber);
+		post.setName(entry.name);
+		post.setIdentifier(entry.identifier);
+		post.setTripcode(entry.tripcode);
+		post.setCapcode(entry.capcode);
+		post.setDefaultName(entry.defaultName);
+		post.setEmail(entry.email);
+		post.setTimestamp(entry.timestamp);
+		post.setSage(entry.sage);
+		post.setOriginalPoster(entry.originalPoster);
+		post.setSubject(entry.subject);
+		post.setComment(entry.comment);
+		if (!entry.attachments.isEmpty()) {
+			ArrayList<FileAttachment> attachments = new ArrayList<>(entry.attachments.size());
+			for (LocalArchiveIndex.Attachment indexAttachment : entry.attachments) {
+				FileAttachment attachment = new FileAttachment();
+				if (indexAttachment.file != null) {
+					attachment.setFileUri(locator, createFileUriLocal(indexAttachment.file));
+				}
+				if (indexAttachment.thumbnail != null) {
+					attachment.setThumbnailUri(locator, createFileUriLocal(indexAttachment.thumbnail));
+				}
+				attachment.setOriginalName(indexAttachment.originalName);
+				attachment.setSize(indexAttachment.size);
+				attachment.setWidth(indexAttachment.width);
+				attachment.setHeight(indexAttachment.height);
+				attachments.add(attachment);
+			}
+			post.setAttachments(attachments);
+		}
+		if (!entry.icons.isEmpty()) {
+			ArrayList<Icon> icons = new ArrayList<>(entry.icons.size());
+			for (LocalArchiveIndex.Icon icon : entry.icons) {
+				icons.add(new Icon(locator, Uri.parse(icon.src), icon.title));
+			}
+			post.setIcons(icons);
+		}
+		return new Posts(post).addPostsCount(entry.postsCount).addFilesCount(entry.filesCount);
+	}
+
 	@Override
 	public boolean onStartElement(GroupParser parser, String tagName,
 			GroupParser.Attributes attributes) throws OriginalPostParsedException {
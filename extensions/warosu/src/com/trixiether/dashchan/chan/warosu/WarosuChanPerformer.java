@@ -4,14 +4,17 @@ import android.net.Uri;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.HttpURLConnection;
+import java.util.ArrayList;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
+import chan.content.ChanConfiguration;
 import chan.content.ChanLocator;
 import chan.content.FoolFuukaChanLocator;
 import chan.content.FoolFuukaChanPerformer;
 import chan.content.InvalidResponseException;
 import chan.content.RedirectException;
+import chan.content.model.Posts;
 import chan.http.HttpException;
 import chan.http.HttpRequest;
 import chan.http.HttpResponse;
@@ -25,7 +28,10 @@ public class WarosuChanPerformer  extends FoolFuukaChanPerformer {
         Uri uri = locator.createBoardUri(data.boardName, data.pageNumber + 1);
         HttpResponse response = new HttpRequest(uri, data).setValidator(data.validator).perform();
         try (InputStream input = response.open()) {
-            return new ReadThreadsResult(new WarosuPostsParser(this).convertThreads(input));
+            ArrayList<Posts> threads = new WarosuPostsParser(this).convertThreads(input);
+            WarosuChanConfiguration configuration = ChanConfiguration.get(this);
+            configuration.storePostThreadNumbers(data.boardName, threads);
+            return new ReadThreadsResult(threads);
         } catch (ParseException e) {
             throw new InvalidResponseException(e);
         } catch (IOException e) {
@@ -39,6 +45,12 @@ public class WarosuChanPerformer  extends FoolFuukaChanPerformer {
     public ReadPostsResult onReadPosts(ReadPostsData data) throws HttpException, InvalidResponseException,
             RedirectException {
         WarosuChanLocator locator = ChanLocator.get(this);
+        WarosuChanConfiguration configuration = ChanConfiguration.get(this);
+        String knownThreadNumber = configuration.getPostThreadNumber(data.boardName, data.threadNumber);
+        if (knownThreadNumber != null) {
+            // Reply number was seen in one of parsed threads
+            throw RedirectException.toThread(data.boardName, knownThreadNumber, data.threadNumber);
+        }
         Uri uri = locator.createThreadUri(data.boardName, data.threadNumber);
         HttpResponse response = new HttpRequest(uri, data).setValidator(data.validator).setSuccessOnly(false).perform();
         if (response.getResponseCode() == HttpURLConnection.HTTP_NOT_FOUND) {
@@ -55,7 +67,9 @@ public class WarosuChanPerformer  extends FoolFuukaChanPerformer {
         try (InputStream input = response.open()) {
             // TODO Move to child classes
             Uri threadUri = locator.buildPathWithHost("boards.4chan.org", data.boardName, "thread", data.threadNumber);
-            return new ReadPostsResult(new WarosuPostsParser(this).convertPosts(input, threadUri));
+            Posts thread = new WarosuPostsParser(this).convertPosts(input, threadUri);
+            configuration.storePostThreadNumbers(data.boardName, thread);
+            return new ReadPostsResult(thread);
         } catch (ParseException e) {
             throw new InvalidResponseException(e);
         } catch (IOException e) {
@@ -1,6 +1,6 @@
 package com.mishiranu.dashchan.chan.yakujimoe;
 
-import android.annotation.SuppressLint;
+import chan.content.TimestampParser;
 import chan.content.WakabaPostsParser;
 import chan.text.ParseException;
 import chan.text.TemplateParser;
@@ -8,33 +8,21 @@ import chan.util.StringUtils;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
-import java.text.DateFormatSymbols;
-import java.text.SimpleDateFormat;
 import java.util.Objects;
-import java.util.TimeZone;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 public class YakujiMoePostsParser extends WakabaPostsParser
 		<YakujiMoeChanConfiguration, YakujiMoeChanLocator, YakujiMoePostsParser> {
-	private static final SimpleDateFormat DATE_FORMAT;
-
-	static {
-		DateFormatSymbols symbols = new DateFormatSymbols();
-		symbols.setShortWeekdays(new String[] {"", "Вс", "Пн", "Вт", "Ср", "Чт", "Пт", "Сб"});
-		symbols.setMonths(new String[] {"января", "февраля", "марта", "апреля", "мая", "июня", "июля", "августа",
-				"сентября", "октября", "ноября", "декабря"});
-		@SuppressLint("SimpleDateFormat")
-		SimpleDateFormat dateFormat = new SimpleDateFormat("EE dd MMMM yy HH:mm:ss", symbols);
-		dateFormat.setTimeZone(TimeZone.getTimeZone("GMT+3"));
-		DATE_FORMAT = dateFormat;
-	}
+	private static final TimestampParser TIMESTAMP_PARSER = TimestampParser.get("EE dd MMMM yy HH:mm:ss", "GMT+3",
+			new String[] {"января", "февраля", "марта", "апреля", "мая", "июня", "июля", "августа",
+					"сентября", "октября", "ноября", "декабря"});
 
 	private static final Pattern ADMIN_NAME = Pattern.compile("<span class=\"adminname\">(.*)</span>");
 	private static final Pattern BUMP_LIMIT = Pattern.compile("Максимальное количество бампов треда: (\\d+).");
 
 	public YakujiMoePostsParser(Object linked, String boardName) {
-		super(PARSER, DATE_FORMAT, linked, boardName);
+		super(PARSER, TIMESTAMP_PARSER, linked, boardName);
 	}
 
 	@Override